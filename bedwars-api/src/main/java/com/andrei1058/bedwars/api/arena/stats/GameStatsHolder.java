@@ -75,7 +75,7 @@ public interface GameStatsHolder {
 
     /**
      * @param statistic Order collection by given statistic.
-     * @return top list.
+     * @return top list, highest first. It might be unmodifiable.
      */
     List<Optional<PlayerGameStats>> getOrderedBy(@NotNull String statistic);
 
@@ -144,6 +144,7 @@ public class ConfigPath {
     public static final String SB_CONFIG_SIDEBAR_USE_GAME_SIDEBAR = "scoreboard-settings.sidebar.enable-game-sidebar";
     public static final String SB_CONFIG_SIDEBAR_TITLE_REFRESH_INTERVAL = "scoreboard-settings.sidebar.title-refresh-interval";
     public static final String SB_CONFIG_SIDEBAR_PLACEHOLDERS_REFRESH_INTERVAL = "scoreboard-settings.sidebar.placeholders-refresh-interval";
+    public static final String SB_CONFIG_SIDEBAR_REFRESH_BUCKETS = "scoreboard-settings.sidebar.refresh-buckets";
     public static final String SB_CONFIG_SIDEBAR_LIST_FORMAT_LOBBY = "scoreboard-settings.player-list.format-lobby-list";
     public static final String SB_CONFIG_SIDEBAR_LIST_FORMAT_WAITING = "scoreboard-settings.player-list.format-waiting-list";
     public static final String SB_CONFIG_SIDEBAR_LIST_FORMAT_STARTING = "scoreboard-settings.player-list.format-starting-list";
@@ -153,6 +154,7 @@ public class ConfigPath {
     public static final String SB_CONFIG_SIDEBAR_HEALTH_ENABLE = "scoreboard-settings.health.enable";
     public static final String SB_CONFIG_SIDEBAR_HEALTH_IN_TAB = "scoreboard-settings.health.display-in-tab";
     public static final String SB_CONFIG_SIDEBAR_HEALTH_REFRESH = "scoreboard-settings.health.animation-refresh-interval";
+    public static final String SB_CONFIG_SIDEBAR_HEALTH_RECONCILE = "scoreboard-settings.health.reconcile";
 
     public static final String SB_CONFIG_TAB_HEADER_FOOTER_ENABLE = "scoreboard-settings.tab-header-footer.enable";
     public static final String SB_CONFIG_TAB_HEADER_FOOTER_REFRESH_INTERVAL = "scoreboard-settings.tab-header-footer.refresh-interval";
@@ -260,6 +262,30 @@ public class ConfigPath {
     public static final String GENERAL_CONFIGURATION_PERFORMANCE_SPOIL_TNT_PLAYERS = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".spoil-tnt-players";
 
     public static final String GENERAL_CONFIGURATION_PERFORMANCE_PAPER_FEATURES = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".paper-features";
+    private static final String GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".chunk-pre-warm";
+    public static final String GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM_ENABLE = GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM + ".enable";
+    public static final String GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM_PER_TICK = GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM + ".chunks-per-tick";
+
+    public static final String GENERAL_CONFIGURATION_DATABASE_PATH = "database";
+    public static final String GENERAL_CONFIGURATION_DATABASE_POOL_SIZE = GENERAL_CONFIGURATION_DATABASE_PATH + ".pool-size";
+    // connection pool timeouts in seconds
+    public static final String GENERAL_CONFIGURATION_DATABASE_MAX_LIFETIME = GENERAL_CONFIGURATION_DATABASE_PATH + ".max-lifetime";
+    public static final String GENERAL_CONFIGURATION_DATABASE_CONNECTION_TIMEOUT = GENERAL_CONFIGURATION_DATABASE_PATH + ".connection-timeout";
+    public static final String GENERAL_CONFIGURATION_DATABASE_SOCKET_TIMEOUT = GENERAL_CONFIGURATION_DATABASE_PATH + ".socket-timeout";
+    // prepared statements cached by the driver per connection, 0 to disable
+    public static final String GENERAL_CONFIGURATION_DATABASE_STATEMENT_CACHE_SIZE = GENERAL_CONFIGURATION_DATABASE_PATH + ".statement-cache-size";
+    public static final String GENERAL_CONFIGURATION_DATABASE_STATEMENT_CACHE_SQL_LIMIT = GENERAL_CONFIGURATION_DATABASE_PATH + ".statement-cache-sql-limit";
+    // millis a query can block the main thread before a warning is logged, 0 to disable
+    public static final String GENERAL_CONFIGURATION_DATABASE_MAIN_THREAD_QUERY_WARNING = GENERAL_CONFIGURATION_DATABASE_PATH + ".main-thread-query-warning";
+    // seconds to collect stats changes before writing them as a single batch
+    public static final String GENERAL_CONFIGURATION_STATS_FLUSH_INTERVAL = GENERAL_CONFIGURATION_DATABASE_PATH + ".stats-flush-interval";
+    // seconds between level writes, changed levels are saved together
+    public static final String GENERAL_CONFIGURATION_LEVEL_FLUSH_INTERVAL = GENERAL_CONFIGURATION_DATABASE_PATH + ".level-flush-interval";
+    public static final String GENERAL_CONFIGURATION_PROFILE_LOAD_TIMEOUT = GENERAL_CONFIGURATION_DATABASE_PATH + ".profile-load-timeout";
+    public static final String GENERAL_CONFIGURATION_PROFILE_CACHE_TTL = GENERAL_CONFIGURATION_DATABASE_PATH + ".profile-cache-ttl";
+    public static final String GENERAL_CONFIGURATION_PROFILE_CACHE_SIZE = GENERAL_CONFIGURATION_DATABASE_PATH + ".profile-cache-size";
+    public static final String GENERAL_CONFIGURATION_LEADERBOARD_SIZE = GENERAL_CONFIGURATION_DATABASE_PATH + ".leaderboard-size";
+    public static final String GENERAL_CONFIGURATION_LEADERBOARD_REFRESH_INTERVAL = GENERAL_CONFIGURATION_DATABASE_PATH + ".leaderboard-refresh-interval";
 
     private static final String GENERAL_CONFIGURATION_HEAL_POOL = GENERAL_CONFIGURATION_PERFORMANCE_PATH+".heal-pool";
     public static final String GENERAL_CONFIGURATION_HEAL_POOL_ENABLE = GENERAL_CONFIGURATION_HEAL_POOL+".enable";
@@ -26,12 +26,16 @@ import com.andrei1058.bedwars.api.configuration.ConfigPath;
 import com.andrei1058.bedwars.api.events.player.PlayerLangChangeEvent;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 public class Language extends ConfigManager {
 
@@ -39,10 +43,20 @@ public class Language extends ConfigManager {
     private String prefix = "";
     private static String prefixStatic = "";
     private static final HashMap<UUID, Language> langByPlayer = new HashMap<>();
-    private static final List<Language> languages = new ArrayList<>();
+    private static final List<Language> languages = new CopyOnWriteArrayList<>();
+    // loaded languages by lower case iso
+    private static final Map<String, Language> languageByIso = new ConcurrentHashMap<>();
+    // registered languages waiting to be loaded at startup, by lower case iso
+    private static final Map<String, Supplier<? extends Language>> availableLanguages = new LinkedHashMap<>();
     private static Language defaultLanguage;
     private String serverIp;
 
+    // messages with colors and static placeholders already translated, null if they have to be compiled again
+    private volatile Map<String, String> compiledMessages;
+    private volatile Map<String, List<String>> compiledLists;
+    private volatile Map<String, MessageTemplate> templates;
+    private volatile Map<String, List<MessageTemplate>> templateLists;
+
     public Language(Plugin plugin, String iso) {
         super(plugin, "messages_" + iso, plugin.getDataFolder().getPath() + "/Languages");
         this.iso = iso;
@@ -98,6 +112,10 @@ public class Language extends ConfigManager {
         }
 
         languages.add(this);
+        languageByIso.putIfAbsent(iso.toLowerCase(), this);
+        synchronized (availableLanguages) {
+            availableLanguages.remove(iso.toLowerCase());
+        }
     }
 
     /**
@@ -105,6 +123,7 @@ public class Language extends ConfigManager {
      */
     public void setPrefix(String prefix) {
         this.prefix = prefix;
+        this.clearCompiled();
     }
 
     public void setPrefixStatic(String prefix) {
@@ -148,8 +167,28 @@ public class Language extends ConfigManager {
         if (player == null) {
             return getDefaultLanguage().m(path);
         }
-        return langByPlayer.getOrDefault(player.getUniqueId(), getDefaultLanguage())
-                .m(path).replace("{prefix}", (prefixStatic == null ? "" : prefixStatic));
+        String message = langByPlayer.getOrDefault(player.getUniqueId(), getDefaultLanguage()).m(path);
+        if (message.contains("{prefix}")) {
+            message = message.replace("{prefix}", (prefixStatic == null ? "" : prefixStatic));
+        }
+        return message;
+    }
+
+    /**
+     * Get a message template in player's language.
+     */
+    public static MessageTemplate getTemplate(Player player, String path) {
+        if (player == null) {
+            return getDefaultLanguage().template(path);
+        }
+        return langByPlayer.getOrDefault(player.getUniqueId(), getDefaultLanguage()).template(path);
+    }
+
+    /**
+     * Get a list of message templates in player's language.
+     */
+    public static List<MessageTemplate> getTemplateList(@NotNull Player player, String path) {
+        return langByPlayer.getOrDefault(player.getUniqueId(), getDefaultLanguage()).templateList(path);
     }
 
     /**
@@ -183,6 +222,7 @@ public class Language extends ConfigManager {
         if (null != fromData) {
             this.getYml().set(to, fromData);
             this.getYml().set(from, null);
+            this.clearCompiled();
         }
     }
 
@@ -201,6 +241,57 @@ public class Language extends ConfigManager {
      * Get a color translated message.
      */
     public String m(String path) {
+        Map<String, String> messages = getCompiledMessages();
+        if (null != messages) {
+            String message = messages.get(path);
+            if (null != message) {
+                return message;
+            }
+        }
+        return this.translate(path);
+    }
+
+    /**
+     * Get a color translated message parsed as template.
+     * Use it for messages with run-time placeholders.
+     */
+    public MessageTemplate template(String path) {
+        Map<String, MessageTemplate> cache = this.templates;
+        if (null == cache) {
+            cache = new ConcurrentHashMap<>();
+            this.templates = cache;
+        }
+        MessageTemplate template = cache.get(path);
+        if (null == template) {
+            template = MessageTemplate.compile(m(path));
+            cache.put(path, template);
+        }
+        return template;
+    }
+
+    /**
+     * Get a color translated list parsed as templates, one per line.
+     * Use it for lists with run-time placeholders.
+     */
+    public List<MessageTemplate> templateList(String path) {
+        Map<String, List<MessageTemplate>> cache = this.templateLists;
+        if (null == cache) {
+            cache = new ConcurrentHashMap<>();
+            this.templateLists = cache;
+        }
+        List<MessageTemplate> templates = cache.get(path);
+        if (null == templates) {
+            List<MessageTemplate> compiled = new ArrayList<>();
+            for (String line : l(path)) {
+                compiled.add(MessageTemplate.compile(line));
+            }
+            templates = Collections.unmodifiableList(compiled);
+            cache.put(path, templates);
+        }
+        return templates;
+    }
+
+    private String translate(String path) {
         String message = getYml().getString(path);
         if (message == null) {
             System.err.println("Missing message key " + path + " in language " + getIso());
@@ -222,8 +313,24 @@ public class Language extends ConfigManager {
 
     /**
      * Get a color translated list.
+     *
+     * @return an unmodifiable list, copy it before adding lines.
      */
     public List<String> l(String path) {
+        Map<String, List<String>> lists = this.compiledLists;
+        if (null == lists && null != getCompiledMessages()) {
+            lists = this.compiledLists;
+        }
+        if (null != lists) {
+            List<String> list = lists.get(path);
+            if (null != list) {
+                return list;
+            }
+        }
+        return translateList(path);
+    }
+
+    private List<String> translateList(String path) {
         List<String> result = new ArrayList<>();
         List<String> lines = getYml().getStringList(path);
         if (lines == null) {
@@ -233,7 +340,80 @@ public class Language extends ConfigManager {
         for (String line : lines) {
             result.add(ChatColor.translateAlternateColorCodes('&', line));
         }
-        return result;
+        return Collections.unmodifiableList(result);
+    }
+
+    private Map<String, String> getCompiledMessages() {
+        Map<String, String> messages = this.compiledMessages;
+        if (null == messages) {
+            this.compile();
+            messages = this.compiledMessages;
+        }
+        return messages;
+    }
+
+    /**
+     * Translate every message once, so {@link #m(String)} and {@link #l(String)} are a map lookup.
+     * Compiled messages are dropped when the language file is changed or reloaded.
+     */
+    public synchronized void compile() {
+        if (null == serverIp) {
+            // main config is not loaded yet, we cannot translate static placeholders
+            BedWars api = Bukkit.getServicesManager().getRegistration(BedWars.class).getProvider();
+            if (null == api.getConfigs() || null == api.getConfigs().getMainConfig()) {
+                return;
+            }
+            serverIp = api.getConfigs().getMainConfig().getString(ConfigPath.GENERAL_CONFIG_PLACEHOLDERS_REPLACEMENTS_SERVER_IP);
+        }
+        Map<String, String> messages = new HashMap<>();
+        Map<String, List<String>> lists = new HashMap<>();
+        for (String path : getYml().getKeys(true)) {
+            Object value = getYml().get(path);
+            if (null == value || value instanceof ConfigurationSection) {
+                continue;
+            }
+            if (value instanceof List) {
+                List<String> list = new ArrayList<>();
+                for (Object line : (List<?>) value) {
+                    if (line instanceof String || line instanceof Number || line instanceof Boolean || line instanceof Character) {
+                        list.add(ChatColor.translateAlternateColorCodes('&', String.valueOf(line)));
+                    }
+                }
+                lists.put(path, Collections.unmodifiableList(list));
+            }
+            messages.put(path, translate(path));
+        }
+        this.compiledLists = Collections.unmodifiableMap(lists);
+        this.compiledMessages = Collections.unmodifiableMap(messages);
+    }
+
+    /**
+     * Drop compiled messages. They will be compiled again when required.
+     */
+    public synchronized void clearCompiled() {
+        this.compiledMessages = null;
+        this.compiledLists = null;
+        this.templates = null;
+        this.templateLists = null;
+    }
+
+    @Override
+    public void reload() {
+        super.reload();
+        this.clearCompiled();
+    }
+
+    @Override
+    public void set(String path, Object value) {
+        super.set(path, value);
+        this.clearCompiled();
+    }
+
+    @Override
+    public void save() {
+        super.save();
+        // defaults might have been added directly to the yml
+        this.clearCompiled();
     }
 
     public static HashMap<UUID, Language> getLangByPlayer() {
@@ -241,29 +421,82 @@ public class Language extends ConfigManager {
     }
 
     /**
-     * Check if a language exists.
+     * Check if a language exists. It might not be loaded yet.
      */
     public static boolean isLanguageExist(String iso) {
-        for (Language l : languages) {
-            if (l.iso.equalsIgnoreCase(iso)) {
-                return true;
-            }
+        if (iso == null) return false;
+        String key = iso.toLowerCase();
+        if (languageByIso.containsKey(key)) return true;
+        synchronized (availableLanguages) {
+            return availableLanguages.containsKey(key);
         }
-        return false;
     }
 
     /**
      * Get language with given info.
      *
-     * @return null if you could not find.
+     * @return server default language if you could not find.
      */
     public static Language getLang(String iso) {
+        if (iso == null) return getDefaultLanguage();
+        Language language = languageByIso.get(iso.toLowerCase());
+        return language == null ? getDefaultLanguage() : language;
+    }
+
+    /**
+     * Register a language to be loaded by {@link #loadAvailableLanguages()}.
+     * Ignored if a language with the same iso is already known.
+     *
+     * @param loader creates the language. The language constructor registers it.
+     */
+    public static void registerLanguage(String iso, Supplier<? extends Language> loader) {
+        String key = iso.toLowerCase();
+        if (languageByIso.containsKey(key)) return;
+        synchronized (availableLanguages) {
+            availableLanguages.putIfAbsent(key, loader);
+        }
+    }
+
+    /**
+     * Iso codes of enabled languages.
+     */
+    public static List<String> getAvailableLanguages() {
+        List<String> result = new ArrayList<>();
         for (Language l : languages) {
-            if (l.iso.equalsIgnoreCase(iso)) {
-                return l;
-            }
+            result.add(l.getIso());
+        }
+        synchronized (availableLanguages) {
+            result.addAll(availableLanguages.keySet());
+        }
+        return result;
+    }
+
+    /**
+     * Load every registered language that was not removed.
+     * Called once while the plugin is starting, so no language file is read or written during games.
+     */
+    public static void loadAvailableLanguages() {
+        List<Supplier<? extends Language>> loaders;
+        synchronized (availableLanguages) {
+            loaders = new ArrayList<>(availableLanguages.values());
+            availableLanguages.clear();
+        }
+        // the language constructor registers it
+        loaders.forEach(Supplier::get);
+    }
+
+    /**
+     * Unload a language or prevent it from being loaded.
+     */
+    public static void removeLanguage(String iso) {
+        String key = iso.toLowerCase();
+        synchronized (availableLanguages) {
+            availableLanguages.remove(key);
+        }
+        Language language = languageByIso.remove(key);
+        if (language != null) {
+            languages.remove(language);
         }
-        return getDefaultLanguage();
     }
 
     /**
@@ -275,6 +508,7 @@ public class Language extends ConfigManager {
 
     /**
      * Get loaded languages list.
+     * Use {@link #removeLanguage(String)} to unload a language.
      */
     public static List<Language> getLanguages() {
         return languages;
@@ -284,22 +518,29 @@ public class Language extends ConfigManager {
      * Save messages for unset stats items.
      */
     public static void setupCustomStatsMessages() {
-        BedWars api = Bukkit.getServer().getServicesManager().getRegistration(BedWars.class).getProvider();
         for (Language l : getLanguages()) {
-            if (l == null) continue;
-            if (l.getYml() == null) continue;
-            /* save messages for stats gui items if custom items added */
-            if (api.getConfigs().getMainConfig().getYml().get(ConfigPath.GENERAL_CONFIGURATION_STATS_PATH) == null)
-                return;
-            for (String item : api.getConfigs().getMainConfig().getYml().getConfigurationSection(ConfigPath.GENERAL_CONFIGURATION_STATS_PATH).getKeys(false)) {
-                if (ConfigPath.GENERAL_CONFIGURATION_STATS_GUI_SIZE.contains(item)) continue;
-                if (l.getYml().getDefaults() == null || !l.getYml().getDefaults().contains(Messages.PLAYER_STATS_GUI_PATH + "-" + item + "-name"))
-                    l.getYml().addDefault(Messages.PLAYER_STATS_GUI_PATH + "-" + item + "-name", "Name not set");
-                if (l.getYml().getDefaults() == null || !l.getYml().getDefaults().contains(Messages.PLAYER_STATS_GUI_PATH + "-" + item + "-lore"))
-                    l.getYml().addDefault(Messages.PLAYER_STATS_GUI_PATH + "-" + item + "-lore", Collections.singletonList("lore not set"));
-            }
-            l.save();
+            setupCustomStatsMessages(l);
+        }
+    }
+
+    /**
+     * Save messages for unset stats items in the given language.
+     */
+    public static void setupCustomStatsMessages(Language l) {
+        BedWars api = Bukkit.getServer().getServicesManager().getRegistration(BedWars.class).getProvider();
+        if (l == null) return;
+        if (l.getYml() == null) return;
+        /* save messages for stats gui items if custom items added */
+        if (api.getConfigs().getMainConfig().getYml().get(ConfigPath.GENERAL_CONFIGURATION_STATS_PATH) == null)
+            return;
+        for (String item : api.getConfigs().getMainConfig().getYml().getConfigurationSection(ConfigPath.GENERAL_CONFIGURATION_STATS_PATH).getKeys(false)) {
+            if (ConfigPath.GENERAL_CONFIGURATION_STATS_GUI_SIZE.contains(item)) continue;
+            if (l.getYml().getDefaults() == null || !l.getYml().getDefaults().contains(Messages.PLAYER_STATS_GUI_PATH + "-" + item + "-name"))
+                l.getYml().addDefault(Messages.PLAYER_STATS_GUI_PATH + "-" + item + "-name", "Name not set");
+            if (l.getYml().getDefaults() == null || !l.getYml().getDefaults().contains(Messages.PLAYER_STATS_GUI_PATH + "-" + item + "-lore"))
+                l.getYml().addDefault(Messages.PLAYER_STATS_GUI_PATH + "-" + item + "-lore", Collections.singletonList("lore not set"));
         }
+        l.save();
     }
 
     @SuppressWarnings("WeakerAccess")
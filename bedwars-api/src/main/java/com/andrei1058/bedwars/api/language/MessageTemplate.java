@@ -0,0 +1,139 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.api.language;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message split into literal segments and placeholder slots.
+ * Messages are parsed once and rendered in a single pass instead of chaining {@link String#replace}.
+ */
+public final class MessageTemplate {
+
+    // literals.length == slots.length + 1
+    private final String[] literals;
+    private final String[] slots;
+
+    private MessageTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * Parse a message. Templates are not cached here,
+     * use {@link Language#template(String)} for language messages.
+     */
+    public static @NotNull MessageTemplate compile(@NotNull String message) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int literalStart = 0;
+        int open = message.indexOf('{');
+        while (open != -1) {
+            int close = message.indexOf('}', open + 1);
+            if (close == -1) {
+                break;
+            }
+            int nested = message.indexOf('{', open + 1);
+            if (nested != -1 && nested < close) {
+                open = nested;
+                continue;
+            }
+            literals.add(message.substring(literalStart, open));
+            slots.add(message.substring(open, close + 1));
+            literalStart = close + 1;
+            open = message.indexOf('{', literalStart);
+        }
+        literals.add(message.substring(literalStart));
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * Fill slots with the given values.
+     * Slots without a value are kept as they are.
+     *
+     * @param values placeholder (including brackets) to replacement.
+     */
+    public @NotNull String render(@NotNull Map<String, String> values) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            String value = values.get(slots[i]);
+            builder.append(null == value ? slots[i] : value);
+        }
+        return builder.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * Fill slots with the given values.
+     * Slots without a value are kept as they are.
+     * Usage: {@code render("{player}", name, "{team}", teamName)}.
+     *
+     * @param replacements placeholder (including brackets) followed by its replacement.
+     */
+    public @NotNull String render(@NotNull String... replacements) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            String value = null;
+            for (int j = 0; j + 1 < replacements.length; j += 2) {
+                if (slots[i].equals(replacements[j])) {
+                    value = replacements[j + 1];
+                    break;
+                }
+            }
+            builder.append(null == value ? slots[i] : value);
+        }
+        return builder.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * Placeholders used by this message, including brackets.
+     */
+    public String[] getSlots() {
+        return slots.clone();
+    }
+
+    /**
+     * Check if the given placeholder, including brackets, is used by this message.
+     */
+    public boolean hasSlot(@NotNull String slot) {
+        for (String s : slots) {
+            if (s.equals(slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasSlots() {
+        return slots.length != 0;
+    }
+}
@@ -33,6 +33,7 @@ import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -123,6 +124,15 @@ public abstract class RestoreAdapter {
 
     public abstract String getDisplayName();
 
+    /**
+     * Preload arena maps in memory so new instances can be created without reading them again.
+     * Adapters that do not keep maps in memory will ignore this.
+     *
+     * @param arenas arena names.
+     */
+    public void warmUp(Collection<String> arenas) {
+    }
+
     public void foreachBlockInRegion(
             @Nullable Location corner1, @Nullable Location corner2,
             @NotNull Consumer<Block> consumer
@@ -440,6 +440,20 @@ public abstract class VersionSupport {
         return (byte) ((value * 256.0F) / 360.0F);
     }
 
+    /**
+     * Keep a chunk loaded until it is released.
+     * Chunk tickets are not available on legacy versions, where the chunk is only loaded.
+     */
+    public void holdChunk(Chunk chunk) {
+        chunk.load();
+    }
+
+    /**
+     * Release a chunk kept loaded by {@link #holdChunk(Chunk)}.
+     */
+    public void releaseChunk(Chunk chunk) {
+    }
+
     public void spigotShowPlayer(Player victim, Player receiver) {
         receiver.showPlayer(victim);
     }
@@ -33,6 +33,7 @@ import com.andrei1058.bedwars.arena.Arena;
 import com.andrei1058.bedwars.arena.ArenaManager;
 import com.andrei1058.bedwars.arena.VoidChunkGenerator;
 import com.andrei1058.bedwars.arena.despawnables.TargetListener;
+import com.andrei1058.bedwars.arena.feature.ChunkPreWarmFeature;
 import com.andrei1058.bedwars.arena.feature.SpoilPlayerTNTFeature;
 import com.andrei1058.bedwars.arena.spectator.SpectatorListeners;
 import com.andrei1058.bedwars.arena.stats.DefaultStatsHandler;
@@ -52,6 +53,7 @@ import com.andrei1058.bedwars.halloween.HalloweenSpecial;
 import com.andrei1058.bedwars.language.*;
 import com.andrei1058.bedwars.levels.internal.InternalLevel;
 import com.andrei1058.bedwars.levels.internal.LevelListeners;
+import com.andrei1058.bedwars.levels.internal.LevelSaver;
 import com.andrei1058.bedwars.listeners.*;
 import com.andrei1058.bedwars.listeners.arenaselector.ArenaSelectorListener;
 import com.andrei1058.bedwars.listeners.blockstatus.BlockStatusListener;
@@ -65,7 +67,9 @@ import com.andrei1058.bedwars.maprestore.internal.InternalAdapter;
 import com.andrei1058.bedwars.metrics.MetricsManager;
 import com.andrei1058.bedwars.money.internal.MoneyListeners;
 import com.andrei1058.bedwars.shop.ShopManager;
+import com.andrei1058.bedwars.shop.quickbuy.QuickBuySaver;
 import com.andrei1058.bedwars.sidebar.*;
+import com.andrei1058.bedwars.stats.LeaderboardService;
 import com.andrei1058.bedwars.stats.StatsManager;
 import com.andrei1058.bedwars.support.citizens.CitizensListener;
 import com.andrei1058.bedwars.support.citizens.JoinNPC;
@@ -102,6 +106,7 @@ import java.io.File;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @SuppressWarnings({"WeakerAccess", "CallToPrintStackTrace"})
 public class BedWars extends JavaPlugin {
@@ -132,6 +137,7 @@ public class BedWars extends JavaPlugin {
 
     //remote database
     private static Database remoteDatabase;
+    private static LeaderboardService leaderboardService;
 
     private boolean serverSoftwareSupport = true;
 
@@ -188,21 +194,27 @@ public class BedWars extends JavaPlugin {
         this.getLogger().info("Loading support for paper/spigot: " + version);
 
         // Setup languages
-        new English();
-        new Romanian();
-        new Italian();
-        new Polish();
-        new Spanish();
-        new Russian();
-        new Bangla();
-        new Persian();
-        new Hindi();
-        new Indonesia();
-        new Portuguese();
-        new SimplifiedChinese();
-        new Turkish();
+        // bundled languages are loaded by the main config, except the disabled ones
+        long languagesStart = System.nanoTime();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        Language.registerLanguage("en", English::new);
+        Language.registerLanguage("ro", Romanian::new);
+        Language.registerLanguage("it", Italian::new);
+        Language.registerLanguage("pl", Polish::new);
+        Language.registerLanguage("es", Spanish::new);
+        Language.registerLanguage("ru", Russian::new);
+        Language.registerLanguage("bd", Bangla::new);
+        Language.registerLanguage("fa", Persian::new);
+        Language.registerLanguage("hi", Hindi::new);
+        Language.registerLanguage("id", Indonesia::new);
+        Language.registerLanguage("pt", Portuguese::new);
+        Language.registerLanguage("zh_cn", SimplifiedChinese::new);
+        Language.registerLanguage("tr", Turkish::new);
 
         config = new MainConfig(this, "config");
+        this.getLogger().info("Loaded " + Language.getLanguages().size() + " languages in " + (System.nanoTime() - languagesStart) / 1_000_000 + "ms (heap +"
+                + Math.max(0, runtime.totalMemory() - runtime.freeMemory() - heapBefore) / 1024 + "KB).");
         xpConfig = new XpConfig(this, "xp", this.getDataFolder().getPath());
         specialItemsConfig = new SpecialItemsConfig(this, "special-items", this.getDataFolder().getPath());
 
@@ -308,6 +320,7 @@ public class BedWars extends JavaPlugin {
         }
 
         registerEvents(new WorldLoadListener());
+        registerEvents(new ProfileLoader());
 
         if (!(getServerType() == ServerType.BUNGEE && autoscale)) {
             registerEvents(new JoinHandlerCommon());
@@ -376,12 +389,23 @@ public class BedWars extends JavaPlugin {
                 this.getLogger().severe("It took " + ((System.currentTimeMillis() - time) / 1000) + " ms to establish a database connection!\n" +
                         "Using this remote connection is not recommended!");
             }
-            remoteDatabase.init();
+            if (!remoteDatabase.init() && remoteDatabase == mySQL) {
+                this.getLogger().severe("Could not prepare the MySQL database! Using SQLite instead.");
+                mySQL.close();
+                remoteDatabase = new SQLite();
+                remoteDatabase.init();
+            }
         } else {
             remoteDatabase = new SQLite();
             remoteDatabase.init();
         }
 
+        leaderboardService = new LeaderboardService(config.getInt(ConfigPath.GENERAL_CONFIGURATION_LEADERBOARD_SIZE),
+                config.getInt(ConfigPath.GENERAL_CONFIGURATION_LEADERBOARD_REFRESH_INTERVAL) * 20L);
+        leaderboardService.start();
+
+        LevelSaver.start(config.getInt(ConfigPath.GENERAL_CONFIGURATION_LEVEL_FLUSH_INTERVAL) * 20L);
+
         /* Citizens support */
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
             if (this.getServer().getPluginManager().getPlugin("Citizens") != null) {
@@ -475,6 +499,7 @@ public class BedWars extends JavaPlugin {
         for (Language l : Language.getLanguages()) {
             l.setupUnSetCategories();
             Language.addDefaultMessagesCommandItems(l);
+            l.compile();
         }
 
         LevelsConfig.init();
@@ -521,6 +546,9 @@ public class BedWars extends JavaPlugin {
         // TNT Spoil Feature
         SpoilPlayerTNTFeature.init();
 
+        // Chunk Pre-Warm Feature
+        ChunkPreWarmFeature.init();
+
         // Warn user if current server version support is deprecated
         this.performDeprecationCheck();
     }
@@ -601,7 +629,20 @@ public class BedWars extends JavaPlugin {
                 ex.printStackTrace();
             }
         }
-
+        // write stats, language preferences, quick buy layouts and levels that are still waiting
+        if (statsManager != null) {
+            statsManager.getWriter().flush();
+        }
+        LanguageSaver.flush();
+        QuickBuySaver.flush();
+        LevelSaver.stop();
+        LevelSaver.flush();
+        if (leaderboardService != null) {
+            leaderboardService.stop();
+        }
+        if (remoteDatabase != null) {
+            remoteDatabase.close();
+        }
     }
 
     private void loadArenasAndSigns() {
@@ -628,8 +669,10 @@ public class BedWars extends JavaPlugin {
                 Random r = new Random();
                 int x = r.nextInt(files.size());
                 String name = files.get(x).getName().replace(".yml", "");
+                api.getRestoreAdapter().warmUp(Collections.singletonList(name));
                 new Arena(name, null);
             } else {
+                api.getRestoreAdapter().warmUp(files.stream().map(f -> f.getName().replace(".yml", "")).collect(Collectors.toList()));
                 for (File file : files) {
                     new Arena(file.getName().replace(".yml", ""), null);
                 }
@@ -748,6 +791,10 @@ public class BedWars extends JavaPlugin {
         return statsManager;
     }
 
+    public static LeaderboardService getLeaderboardService() {
+        return leaderboardService;
+    }
+
     public static com.andrei1058.bedwars.api.BedWars getAPI() {
         return api;
     }
@@ -51,6 +51,7 @@ import com.andrei1058.bedwars.api.sidebar.ISidebar;
 import com.andrei1058.bedwars.api.tasks.PlayingTask;
 import com.andrei1058.bedwars.api.tasks.RestartingTask;
 import com.andrei1058.bedwars.api.tasks.StartingTask;
+import com.andrei1058.bedwars.arena.feature.ChunkPreWarmFeature;
 import com.andrei1058.bedwars.arena.stats.GameStatsManager;
 import com.andrei1058.bedwars.arena.stats.StatisticsOrdered;
 import com.andrei1058.bedwars.arena.tasks.GamePlayingTask;
@@ -61,14 +62,19 @@ import com.andrei1058.bedwars.arena.team.BedWarsTeam;
 import com.andrei1058.bedwars.arena.team.TeamAssigner;
 import com.andrei1058.bedwars.configuration.ArenaConfig;
 import com.andrei1058.bedwars.configuration.Sounds;
+import com.andrei1058.bedwars.database.PlayerDataBatch;
 import com.andrei1058.bedwars.levels.internal.InternalLevel;
 import com.andrei1058.bedwars.levels.internal.PerMinuteTask;
+import com.andrei1058.bedwars.levels.internal.PlayerLevel;
 import com.andrei1058.bedwars.listeners.blockstatus.BlockStatusListener;
 import com.andrei1058.bedwars.listeners.dropshandler.PlayerDrops;
 import com.andrei1058.bedwars.money.internal.MoneyPerMinuteTask;
 import com.andrei1058.bedwars.shop.ShopCache;
+import com.andrei1058.bedwars.shop.quickbuy.PlayerQuickBuyCache;
+import com.andrei1058.bedwars.shop.quickbuy.QuickBuySaver;
 import com.andrei1058.bedwars.sidebar.BwSidebar;
 import com.andrei1058.bedwars.sidebar.SidebarService;
+import com.andrei1058.bedwars.stats.PlayerStats;
 import com.andrei1058.bedwars.support.citizens.JoinNPC;
 import com.andrei1058.bedwars.support.paper.TeleportManager;
 import com.andrei1058.bedwars.support.papi.SupportPAPI;
@@ -96,6 +102,8 @@ import java.io.File;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.logging.Level;
 
 import static com.andrei1058.bedwars.BedWars.*;
@@ -384,6 +392,8 @@ public class Arena implements IArena {
         }
         //
 
+        ChunkPreWarmFeature.plan(this);
+
         changeStatus(GameState.waiting);
 
         //
@@ -1147,12 +1157,9 @@ public class Arena implements IArena {
 
         p.closeInventory();
         players.add(p);
-        for (Player on : players) {
-            on.sendMessage(getMsg(on, Messages.COMMAND_REJOIN_PLAYER_RECONNECTED).replace("{playername}", p.getName()).replace("{player}", p.getDisplayName()).replace("{on}", String.valueOf(getPlayers().size())).replace("{max}", String.valueOf(getMaxPlayers())));
-        }
-        for (Player on : spectators) {
-            on.sendMessage(getMsg(on, Messages.COMMAND_REJOIN_PLAYER_RECONNECTED).replace("{playername}", p.getName()).replace("{player}", p.getDisplayName()).replace("{on}", String.valueOf(getPlayers().size())).replace("{max}", String.valueOf(getMaxPlayers())));
-        }
+        String online = String.valueOf(getPlayers().size()), max = String.valueOf(getMaxPlayers());
+        broadcast(lang -> lang.template(Messages.COMMAND_REJOIN_PLAYER_RECONNECTED).render("{playername}", p.getName(),
+                "{player}", p.getDisplayName(), "{on}", online, "{max}", max));
         setArenaByPlayer(p, this);
         /* save player inventory etc */
         if (BedWars.getServerType() != ServerType.BUNGEE) {
@@ -1196,6 +1203,7 @@ public class Arena implements IArena {
         for (Player inWorld : getWorld().getPlayers()) {
             inWorld.kickPlayer("You're not supposed to be here.");
         }
+        ChunkPreWarmFeature.release(this);
         BedWars.getAPI().getRestoreAdapter().onDisable(this);
         Bukkit.getPluginManager().callEvent(new ArenaDisableEvent(getArenaName(), getWorldName()));
         destroyData();
@@ -1221,6 +1229,7 @@ public class Arena implements IArena {
         for (Player inWorld : getWorld().getPlayers()) {
             inWorld.kickPlayer("You're not supposed to be here.");
         }
+        ChunkPreWarmFeature.release(this);
         BedWars.getAPI().getRestoreAdapter().onRestart(this);
         destroyData();
     }
@@ -1561,9 +1570,50 @@ public class Arena implements IArena {
             playingTask = new GamePlayingTask(this);
         } else if (status == GameState.restarting) {
             restartingTask = new GameRestartingTask(this);
+            // next tick, the game end event is called after this and still gives wins and xp
+            Bukkit.getScheduler().runTask(BedWars.plugin, this::savePlayerData);
         }
     }
 
+    /**
+     * Write changed stats, levels and quick buy layouts of players still in the arena
+     * as a single transaction, instead of saving them one by one when they leave.
+     */
+    private void savePlayerData() {
+        PlayerDataBatch batch = new PlayerDataBatch();
+        List<Player> inArena = new ArrayList<>(players);
+        inArena.addAll(spectators);
+        for (Player player : inArena) {
+            UUID uuid = player.getUniqueId();
+            PlayerStats stats = BedWars.getStatsManager().getUnsafe(uuid);
+            if (stats != null) {
+                BedWars.getStatsManager().getWriter().remove(uuid);
+                batch.addStats(stats);
+            }
+            PlayerLevel.collectChanges(uuid, batch);
+            Map<Integer, String> layout = QuickBuySaver.take(uuid);
+            if (layout != null) {
+                batch.addQuickBuy(uuid, layout);
+            }
+            PlayerQuickBuyCache quickBuy = PlayerQuickBuyCache.getQuickBuyCache(uuid);
+            if (quickBuy != null) {
+                quickBuy.collectChanges(batch);
+            }
+        }
+        if (batch.isEmpty()) return;
+        String name = getArenaName();
+        Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> {
+            long start = System.nanoTime();
+            boolean saved = BedWars.getRemoteDatabase().saveAll(batch);
+            long took = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (saved) {
+                debug("Saved data of " + batch.getPlayers() + " players from arena " + name + " in " + took + "ms.");
+            } else {
+                BedWars.plugin.getLogger().warning("Could not save data of " + batch.getPlayers() + " players from arena " + name + " (" + took + "ms).");
+            }
+        });
+    }
+
     /**
      * Check if a player has vip perms
      */
@@ -2335,14 +2385,9 @@ public class Arena implements IArena {
      * Change diamondTier value first.
      */
     public void sendDiamondsUpgradeMessages() {
-        for (Player p : getPlayers()) {
-            p.sendMessage(getMsg(p, Messages.GENERATOR_UPGRADE_CHAT_ANNOUNCEMENT).replace("{generatorType}",
-                    getMsg(p, Messages.GENERATOR_HOLOGRAM_TYPE_DIAMOND)).replace("{tier}", getMsg(p, (diamondTier == 2 ? Messages.FORMATTING_GENERATOR_TIER2 : Messages.FORMATTING_GENERATOR_TIER3))));
-        }
-        for (Player p : getSpectators()) {
-            p.sendMessage(getMsg(p, Messages.GENERATOR_UPGRADE_CHAT_ANNOUNCEMENT).replace("{generatorType}",
-                    getMsg(p, Messages.GENERATOR_HOLOGRAM_TYPE_DIAMOND)).replace("{tier}", getMsg(p, (diamondTier == 2 ? Messages.FORMATTING_GENERATOR_TIER2 : Messages.FORMATTING_GENERATOR_TIER3))));
-        }
+        String tierPath = diamondTier == 2 ? Messages.FORMATTING_GENERATOR_TIER2 : Messages.FORMATTING_GENERATOR_TIER3;
+        broadcast(lang -> lang.template(Messages.GENERATOR_UPGRADE_CHAT_ANNOUNCEMENT).render(
+                "{generatorType}", lang.m(Messages.GENERATOR_HOLOGRAM_TYPE_DIAMOND), "{tier}", lang.m(tierPath)));
     }
 
     /**
@@ -2350,13 +2395,68 @@ public class Arena implements IArena {
      * Change emeraldTier value first.
      */
     public void sendEmeraldsUpgradeMessages() {
+        String tierPath = emeraldTier == 2 ? Messages.FORMATTING_GENERATOR_TIER2 : Messages.FORMATTING_GENERATOR_TIER3;
+        broadcast(lang -> lang.template(Messages.GENERATOR_UPGRADE_CHAT_ANNOUNCEMENT).render(
+                "{generatorType}", lang.m(Messages.GENERATOR_HOLOGRAM_TYPE_EMERALD), "{tier}", lang.m(tierPath)));
+    }
+
+    /**
+     * Group players and spectators by their language.
+     */
+    public Map<Language, List<Player>> getRecipientsByLanguage() {
+        Map<Language, List<Player>> recipients = new LinkedHashMap<>();
         for (Player p : getPlayers()) {
-            p.sendMessage(getMsg(p, Messages.GENERATOR_UPGRADE_CHAT_ANNOUNCEMENT).replace("{generatorType}",
-                    getMsg(p, Messages.GENERATOR_HOLOGRAM_TYPE_EMERALD)).replace("{tier}", getMsg(p, (emeraldTier == 2 ? Messages.FORMATTING_GENERATOR_TIER2 : Messages.FORMATTING_GENERATOR_TIER3))));
+            recipients.computeIfAbsent(Language.getPlayerLanguage(p), l -> new ArrayList<>()).add(p);
         }
         for (Player p : getSpectators()) {
-            p.sendMessage(getMsg(p, Messages.GENERATOR_UPGRADE_CHAT_ANNOUNCEMENT).replace("{generatorType}",
-                    getMsg(p, Messages.GENERATOR_HOLOGRAM_TYPE_EMERALD)).replace("{tier}", getMsg(p, (emeraldTier == 2 ? Messages.FORMATTING_GENERATOR_TIER2 : Messages.FORMATTING_GENERATOR_TIER3))));
+            recipients.computeIfAbsent(Language.getPlayerLanguage(p), l -> new ArrayList<>()).add(p);
+        }
+        return recipients;
+    }
+
+    /**
+     * Send a chat message to players and spectators.
+     * The message is rendered once per language.
+     *
+     * @param message message in the given language, null to skip the language.
+     */
+    public void broadcast(Function<Language, String> message) {
+        for (Map.Entry<Language, List<Player>> entry : getRecipientsByLanguage().entrySet()) {
+            String msg = message.apply(entry.getKey());
+            if (msg == null) continue;
+            for (Player p : entry.getValue()) {
+                p.sendMessage(msg);
+            }
+        }
+    }
+
+    /**
+     * Send a title to players and spectators.
+     * Title and subtitle are rendered once per language.
+     */
+    public void broadcastTitle(Function<Language, String> title, Function<Language, String> subtitle, int fadeIn, int stay, int fadeOut) {
+        for (Map.Entry<Language, List<Player>> entry : getRecipientsByLanguage().entrySet()) {
+            String t = title.apply(entry.getKey());
+            String sub = subtitle.apply(entry.getKey());
+            for (Player p : entry.getValue()) {
+                nms.sendTitle(p, t, sub, fadeIn, stay, fadeOut);
+            }
+        }
+    }
+
+    /**
+     * Send an action bar message to players and spectators.
+     * The message is rendered once per language.
+     *
+     * @param message message in the given language, null to skip the language.
+     */
+    public void broadcastAction(Function<Language, String> message) {
+        for (Map.Entry<Language, List<Player>> entry : getRecipientsByLanguage().entrySet()) {
+            String msg = message.apply(entry.getKey());
+            if (msg == null) continue;
+            for (Player p : entry.getValue()) {
+                nms.playAction(p, msg);
+            }
         }
     }
 
@@ -0,0 +1,183 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.arena.feature;
+
+import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.api.arena.GameState;
+import com.andrei1058.bedwars.api.arena.IArena;
+import com.andrei1058.bedwars.api.arena.generator.IGenerator;
+import com.andrei1058.bedwars.api.arena.team.ITeam;
+import com.andrei1058.bedwars.api.configuration.ConfigPath;
+import io.papermc.lib.PaperLib;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Loads island, middle and generator chunks while an arena is waiting for players,
+ * so the server does not have to load all of them when players are teleported to their islands.
+ * Chunks are held by the plugin until the arena restarts.
+ */
+public class ChunkPreWarmFeature {
+
+    private static ChunkPreWarmFeature instance;
+
+    private final Map<IArena, PreWarmPlan> plans = new LinkedHashMap<>();
+    private final int chunksPerTick;
+
+    private ChunkPreWarmFeature(int chunksPerTick) {
+        this.chunksPerTick = chunksPerTick;
+        Bukkit.getScheduler().runTaskTimer(BedWars.plugin, new LoadTask(), 20L, 1L);
+    }
+
+    public static void init() {
+        if (!BedWars.config.getBoolean(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM_ENABLE)) {
+            return;
+        }
+        if (instance == null) {
+            instance = new ChunkPreWarmFeature(
+                    Math.max(1, BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM_PER_TICK))
+            );
+        }
+    }
+
+    /**
+     * Compute the chunks to be loaded for the given arena.
+     * Used when the arena is initialized.
+     */
+    public static void plan(@NotNull IArena arena) {
+        if (instance == null || arena.getWorld() == null) {
+            return;
+        }
+        instance.plans.put(arena, new PreWarmPlan(arena));
+    }
+
+    /**
+     * Release chunks held for the given arena.
+     * Used when the arena is restarting or disabled.
+     */
+    public static void release(@NotNull IArena arena) {
+        if (instance == null) {
+            return;
+        }
+        PreWarmPlan plan = instance.plans.remove(arena);
+        if (plan != null) {
+            plan.release();
+        }
+    }
+
+    private static class PreWarmPlan {
+
+        private final World world;
+        private final LinkedList<Long> pending = new LinkedList<>();
+        private final List<Chunk> held = new ArrayList<>();
+        private final IArena arena;
+
+        private PreWarmPlan(@NotNull IArena arena) {
+            this.arena = arena;
+            this.world = arena.getWorld();
+
+            Set<Long> chunks = new LinkedHashSet<>();
+            for (ITeam team : arena.getTeams()) {
+                addArea(chunks, team.getSpawn(), arena.getIslandRadius());
+                for (IGenerator generator : team.getGenerators()) {
+                    addArea(chunks, generator.getLocation(), 0);
+                }
+            }
+            for (IGenerator generator : arena.getOreGenerators()) {
+                addArea(chunks, generator.getLocation(), 0);
+            }
+            addArea(chunks, arena.getSpectatorLocation(), 0);
+            pending.addAll(chunks);
+            BedWars.debug("Planned " + pending.size() + " chunks to pre-warm for arena " + arena.getArenaName());
+        }
+
+        private static void addArea(Set<Long> chunks, @Nullable Location center, int radius) {
+            if (center == null) {
+                return;
+            }
+            int minX = (center.getBlockX() - radius) >> 4, maxX = (center.getBlockX() + radius) >> 4;
+            int minZ = (center.getBlockZ() - radius) >> 4, maxZ = (center.getBlockZ() + radius) >> 4;
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    chunks.add(((long) x << 32) | (z & 0xffffffffL));
+                }
+            }
+        }
+
+        private boolean canLoad() {
+            return arena.getStatus() == GameState.waiting || arena.getStatus() == GameState.starting;
+        }
+
+        /**
+         * @return how many chunk loads were requested.
+         */
+        private int loadNext(int budget) {
+            int requested = 0;
+            while (requested < budget && !pending.isEmpty()) {
+                long key = pending.poll();
+                int x = (int) (key >> 32), z = (int) key;
+                requested++;
+                if (BedWars.isPaper && BedWars.config.getBoolean(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_PAPER_FEATURES)) {
+                    PaperLib.getChunkAtAsync(world, x, z).thenAccept(this::hold);
+                } else {
+                    hold(world.getChunkAt(x, z));
+                }
+            }
+            return requested;
+        }
+
+        private void hold(Chunk chunk) {
+            // arena restarted while the chunk was loading
+            if (instance.plans.get(arena) != this) {
+                return;
+            }
+            BedWars.nms.holdChunk(chunk);
+            held.add(chunk);
+        }
+
+        private void release() {
+            pending.clear();
+            held.forEach(BedWars.nms::releaseChunk);
+            held.clear();
+        }
+    }
+
+    private class LoadTask implements Runnable {
+
+        @Override
+        public void run() {
+            int budget = chunksPerTick;
+            Iterator<PreWarmPlan> iterator = plans.values().iterator();
+            while (budget > 0 && iterator.hasNext()) {
+                PreWarmPlan plan = iterator.next();
+                if (plan.canLoad()) {
+                    budget -= plan.loadNext(budget);
+                }
+            }
+        }
+    }
+}
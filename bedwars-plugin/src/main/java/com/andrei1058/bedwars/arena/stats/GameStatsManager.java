@@ -16,6 +16,8 @@ public class GameStatsManager implements GameStatsHolder {
 
     private final HashMap<String, GameStatisticProvider<?>> registeredStats = new HashMap<>();
     private final HashMap<UUID, Optional<PlayerGameStats>> playerSessionStats = new HashMap<>();
+    // tops for statistics that notify changes
+    private final HashMap<String, StatisticRanking> rankings = new HashMap<>();
 
     private final IArena arena;
 
@@ -62,25 +64,41 @@ public class GameStatsManager implements GameStatsHolder {
         PlayerGameStats stats = new PlayerGameStatsContainer(player);
         this.registeredStats.forEach((id, provider) -> stats.registerStatistic(id, provider.getDefault()));
 
-        playerSessionStats.put(player.getUniqueId(), Optional.of(stats));
+        Optional<PlayerGameStats> holder = Optional.of(stats);
+        playerSessionStats.put(player.getUniqueId(), holder);
+        this.track(holder);
         return stats;
     }
 
+    private void track(@NotNull Optional<PlayerGameStats> holder) {
+        //noinspection OptionalGetWithoutIsPresent
+        PlayerGameStats stats = holder.get();
+        for (String id : registeredStats.keySet()) {
+            stats.getStatistic(id).ifPresent(statistic -> {
+                if (statistic instanceof GenericStatistic.Value) {
+                    GenericStatistic.Value value = (GenericStatistic.Value) statistic;
+                    StatisticRanking ranking = rankings.computeIfAbsent(id, k -> new StatisticRanking());
+                    ranking.update(holder, value.getValue());
+                    value.setChangeListener(() -> ranking.update(holder, value.getValue()));
+                }
+            });
+        }
+    }
+
     @Override
     public void unregisterPlayer(UUID uuid) {
         if (getArena().getStatus() == GameState.restarting) {
             throw new RuntimeException("You cannot unregister player stats during restarting phase!");
         }
         this.playerSessionStats.remove(uuid);
+        this.rankings.values().forEach(ranking -> ranking.remove(uuid));
     }
 
     @Override
     public @NotNull PlayerGameStats getCreate(@NotNull Player holder) {
         Optional<PlayerGameStats> ps = playerSessionStats.getOrDefault(holder.getUniqueId(), Optional.empty());
         if (ps.isEmpty()) {
-            PlayerGameStats stats = init(holder);
-            playerSessionStats.put(holder.getUniqueId(), Optional.of(stats));
-            return stats;
+            return init(holder);
         }
         return ps.get();
     }
@@ -97,7 +115,12 @@ public class GameStatsManager implements GameStatsHolder {
 
     @Override
     public List<Optional<PlayerGameStats>> getOrderedBy(@NotNull String statistic) {
+        StatisticRanking ranking = rankings.get(statistic);
+        if (null != ranking) {
+            return ranking.getOrdered();
+        }
 
+        // statistics that do not notify changes are sorted on request
         //noinspection OptionalGetWithoutIsPresent
         List<Optional<PlayerGameStats>> list = playerSessionStats.values().stream().filter(Optional::isPresent)
                 .filter(st -> st.get().getStatistic(statistic).isPresent())
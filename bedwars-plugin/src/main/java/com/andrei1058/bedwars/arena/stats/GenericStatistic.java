@@ -28,6 +28,7 @@ public abstract class GenericStatistic implements GameStatisticProvider<GenericS
 
     public static class Value implements GameStatistic<Integer>, Incrementable, Comparable<GameStatistic<Integer>> {
         private int count = 0;
+        private @Nullable Runnable changeListener;
 
         @Override
         public Integer getValue() {
@@ -47,6 +48,16 @@ public abstract class GenericStatistic implements GameStatisticProvider<GenericS
         @Override
         public void increment() {
             count++;
+            if (null != changeListener) {
+                changeListener.run();
+            }
+        }
+
+        /**
+         * Called after the value is changed. Used to keep tops up to date.
+         */
+        public void setChangeListener(@Nullable Runnable changeListener) {
+            this.changeListener = changeListener;
         }
     }
 }
@@ -0,0 +1,81 @@
+package com.andrei1058.bedwars.arena.stats;
+
+import com.andrei1058.bedwars.api.arena.stats.PlayerGameStats;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Players ordered by a statistic value, highest first.
+ * Kept up to date when the statistic changes instead of sorting every time a top is required.
+ */
+class StatisticRanking {
+
+    private static final Comparator<Entry> ORDER = (a, b) -> {
+        int result = Integer.compare(b.value, a.value);
+        return result == 0 ? Long.compare(a.sequence, b.sequence) : result;
+    };
+
+    private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+    private final HashMap<UUID, Entry> entries = new HashMap<>();
+    private long sequence = 0;
+
+    // rebuilt on first read after a change
+    private @Nullable List<Optional<PlayerGameStats>> snapshot;
+
+    /**
+     * Add a player or move it to its new position.
+     */
+    void update(@NotNull Optional<PlayerGameStats> holder, int value) {
+        //noinspection OptionalGetWithoutIsPresent
+        UUID uuid = holder.get().getPlayer();
+        Entry old = entries.get(uuid);
+        if (null != old) {
+            if (old.value == value) {
+                return;
+            }
+            ordered.remove(old);
+        }
+        Entry entry = new Entry(holder, value, null == old ? sequence++ : old.sequence);
+        ordered.add(entry);
+        entries.put(uuid, entry);
+        snapshot = null;
+    }
+
+    void remove(@NotNull UUID uuid) {
+        Entry old = entries.remove(uuid);
+        if (null != old) {
+            ordered.remove(old);
+            snapshot = null;
+        }
+    }
+
+    /**
+     * @return unmodifiable ordered list, highest value first.
+     */
+    @NotNull List<Optional<PlayerGameStats>> getOrdered() {
+        List<Optional<PlayerGameStats>> list = snapshot;
+        if (null == list) {
+            ArrayList<Optional<PlayerGameStats>> result = new ArrayList<>(ordered.size());
+            for (Entry entry : ordered) {
+                result.add(entry.holder);
+            }
+            list = Collections.unmodifiableList(result);
+            snapshot = list;
+        }
+        return list;
+    }
+
+    private static class Entry {
+        private final Optional<PlayerGameStats> holder;
+        private final int value;
+        private final long sequence;
+
+        private Entry(Optional<PlayerGameStats> holder, int value, long sequence) {
+            this.holder = holder;
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -41,7 +41,7 @@ import org.bukkit.scheduler.BukkitTask;
 import java.util.Map;
 
 import static com.andrei1058.bedwars.BedWars.nms;
-import static com.andrei1058.bedwars.api.language.Language.getMsg;
+import static com.andrei1058.bedwars.api.language.Language.getTemplate;
 
 public class GamePlayingTask implements Runnable, PlayingTask {
 
@@ -108,14 +108,9 @@ public class GamePlayingTask implements Runnable, PlayingTask {
             case BEDS_DESTROY:
                 beds_destroy_countdown--;
                 if (getBedsDestroyCountdown() == 0) {
-                    for (Player p : getArena().getPlayers()) {
-                        nms.sendTitle(p, getMsg(p, Messages.NEXT_EVENT_TITLE_ANNOUNCE_BEDS_DESTROYED), getMsg(p, Messages.NEXT_EVENT_SUBTITLE_ANNOUNCE_BEDS_DESTROYED), 0, 40, 10);
-                        p.sendMessage(getMsg(p, Messages.NEXT_EVENT_CHAT_ANNOUNCE_BEDS_DESTROYED));
-                    }
-                    for (Player p : getArena().getSpectators()) {
-                        nms.sendTitle(p, getMsg(p, Messages.NEXT_EVENT_TITLE_ANNOUNCE_BEDS_DESTROYED), getMsg(p, Messages.NEXT_EVENT_SUBTITLE_ANNOUNCE_BEDS_DESTROYED), 0, 40, 10);
-                        p.sendMessage(getMsg(p, Messages.NEXT_EVENT_CHAT_ANNOUNCE_BEDS_DESTROYED));
-                    }
+                    getArena().broadcastTitle(lang -> lang.m(Messages.NEXT_EVENT_TITLE_ANNOUNCE_BEDS_DESTROYED),
+                            lang -> lang.m(Messages.NEXT_EVENT_SUBTITLE_ANNOUNCE_BEDS_DESTROYED), 0, 40, 10);
+                    getArena().broadcast(lang -> lang.m(Messages.NEXT_EVENT_CHAT_ANNOUNCE_BEDS_DESTROYED));
                     for (ITeam t : getArena().getTeams()) {
                         t.setBedDestroyed(true);
                     }
@@ -125,21 +120,12 @@ public class GamePlayingTask implements Runnable, PlayingTask {
             case ENDER_DRAGON:
                 dragon_spawn_countdown--;
                 if (getDragonSpawnCountdown() == 0) {
-                    for (Player p : getArena().getPlayers()) {
-                        nms.sendTitle(p, getMsg(p, Messages.NEXT_EVENT_TITLE_ANNOUNCE_SUDDEN_DEATH), getMsg(p, Messages.NEXT_EVENT_SUBTITLE_ANNOUNCE_SUDDEN_DEATH), 0, 40, 10);
-                        for (ITeam t : getArena().getTeams()) {
-                            if (t.getMembers().isEmpty()) continue;
-                            p.sendMessage(getMsg(p, Messages.NEXT_EVENT_CHAT_ANNOUNCE_SUDDEN_DEATH).replace("{TeamDragons}", String.valueOf(t.getDragons()))
-                                    .replace("{TeamColor}", t.getColor().chat().toString()).replace("{TeamName}", t.getDisplayName(Language.getPlayerLanguage(p))));
-                        }
-                    }
-                    for (Player p : getArena().getSpectators()) {
-                        nms.sendTitle(p, getMsg(p, Messages.NEXT_EVENT_TITLE_ANNOUNCE_SUDDEN_DEATH), getMsg(p, Messages.NEXT_EVENT_SUBTITLE_ANNOUNCE_SUDDEN_DEATH), 0, 40, 10);
-                        for (ITeam t : getArena().getTeams()) {
-                            if (t.getMembers().isEmpty()) continue;
-                            p.sendMessage(getMsg(p, Messages.NEXT_EVENT_CHAT_ANNOUNCE_SUDDEN_DEATH).replace("{TeamDragons}", String.valueOf(t.getDragons()))
-                                    .replace("{TeamColor}", t.getColor().chat().toString()).replace("{TeamName}", t.getDisplayName(Language.getPlayerLanguage(p))));
-                        }
+                    getArena().broadcastTitle(lang -> lang.m(Messages.NEXT_EVENT_TITLE_ANNOUNCE_SUDDEN_DEATH),
+                            lang -> lang.m(Messages.NEXT_EVENT_SUBTITLE_ANNOUNCE_SUDDEN_DEATH), 0, 40, 10);
+                    for (ITeam t : getArena().getTeams()) {
+                        if (t.getMembers().isEmpty()) continue;
+                        getArena().broadcast(lang -> lang.template(Messages.NEXT_EVENT_CHAT_ANNOUNCE_SUDDEN_DEATH).render("{TeamDragons}", String.valueOf(t.getDragons()),
+                                "{TeamColor}", t.getColor().chat().toString(), "{TeamName}", t.getDisplayName(lang)));
                     }
                     getArena().updateNextEvent();
                     for (ITeam team : arena.getTeams()){
@@ -178,8 +164,8 @@ public class GamePlayingTask implements Runnable, PlayingTask {
                             distance = (int) p.getLocation().distance(p2.getLocation());
                         }
                     }
-                    nms.playAction(p, getMsg(p, Messages.FORMATTING_ACTION_BAR_TRACKING).replace("{team}", t.getColor().chat() + t.getDisplayName(Language.getPlayerLanguage(p)))
-                            .replace("{distance}", t.getColor().chat().toString() + distance).replace("&", "§"));
+                    nms.playAction(p, getTemplate(p, Messages.FORMATTING_ACTION_BAR_TRACKING).render("{team}", t.getColor().chat() + t.getDisplayName(Language.getPlayerLanguage(p)),
+                            "{distance}", t.getColor().chat().toString() + distance).replace("&", "§"));
                 }
             }
 
@@ -222,10 +208,10 @@ public class GamePlayingTask implements Runnable, PlayingTask {
                         e.getKey().setFlying(false);
                     }
                 } else {
-                    nms.sendTitle(e.getKey(), getMsg(e.getKey(), Messages.PLAYER_DIE_RESPAWN_TITLE).replace("{time}",
-                            String.valueOf(e.getValue())), getMsg(e.getKey(), Messages.PLAYER_DIE_RESPAWN_SUBTITLE).replace("{time}",
-                            String.valueOf(e.getValue())), 0, 30, 10);
-                    e.getKey().sendMessage(getMsg(e.getKey(), Messages.PLAYER_DIE_RESPAWN_CHAT).replace("{time}", String.valueOf(e.getValue())));
+                    String time = String.valueOf(e.getValue());
+                    nms.sendTitle(e.getKey(), getTemplate(e.getKey(), Messages.PLAYER_DIE_RESPAWN_TITLE).render("{time}", time),
+                            getTemplate(e.getKey(), Messages.PLAYER_DIE_RESPAWN_SUBTITLE).render("{time}", time), 0, 30, 10);
+                    e.getKey().sendMessage(getTemplate(e.getKey(), Messages.PLAYER_DIE_RESPAWN_CHAT).render("{time}", time));
                     getArena().getRespawnSessions().replace(e.getKey(), e.getValue() - 1);
                 }
             }
@@ -28,8 +28,11 @@ import com.andrei1058.bedwars.api.language.Messages;
 import com.andrei1058.bedwars.api.server.ServerType;
 import com.andrei1058.bedwars.arena.SetupSession;
 import com.andrei1058.bedwars.commands.bedwars.subcmds.regular.*;
+import com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive.DatabaseStats;
 import com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive.Level;
 import com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive.Reload;
+import com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive.SidebarStats;
+import com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive.WarmUp;
 import com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive.setup.*;
 import com.andrei1058.bedwars.support.citizens.JoinNPC;
 import net.md_5.bungee.api.chat.ClickEvent;
@@ -87,6 +90,9 @@ public class MainCommand extends BukkitCommand implements ParentCommand {
         new com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive.Build(this, "build"); //priority 9
         new Level(this, "level");
         new Reload(this, "reload"); //priority 11
+        new WarmUp(this, "warmUp"); //priority 12
+        new SidebarStats(this, "sidebarStats"); //priority 13
+        new DatabaseStats(this, "dbStats"); //priority 14
         new CmdList(this, "cmds"); //priority 20
 
         /* Arena setup commands (in world) */
@@ -33,7 +33,6 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.andrei1058.bedwars.BedWars.plugin;
@@ -83,11 +82,7 @@ public class CmdLang extends SubCommand {
 
     @Override
     public List<String> getTabComplete() {
-        List<String> tab = new ArrayList<>();
-        for (Language lang : Language.getLanguages()) {
-            tab.add(lang.getIso());
-        }
-        return tab;
+        return Language.getAvailableLanguages();
     }
 
     @Override
@@ -0,0 +1,124 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive;
+
+import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.api.command.ParentCommand;
+import com.andrei1058.bedwars.api.command.SubCommand;
+import com.andrei1058.bedwars.arena.Arena;
+import com.andrei1058.bedwars.arena.Misc;
+import com.andrei1058.bedwars.arena.SetupSession;
+import com.andrei1058.bedwars.configuration.Permissions;
+import com.andrei1058.bedwars.database.MySQL;
+import com.andrei1058.bedwars.database.ProfileCache;
+import com.andrei1058.bedwars.database.QueryMetrics;
+import com.andrei1058.bedwars.listeners.joinhandler.ProfileLoader;
+import com.andrei1058.bedwars.stats.StatsWriter;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import net.md_5.bungee.api.chat.ClickEvent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+
+public class DatabaseStats extends SubCommand {
+
+    public DatabaseStats(ParentCommand parent, String name) {
+        super(parent, name);
+        setPriority(14);
+        showInList(true);
+        setPermission(Permissions.PERMISSION_DATABASE_STATS);
+        setDisplayInfo(Misc.msgHoverClick("§6 ▪ §7/" + getParent().getName() + " " + getSubCommandName() + "          §8 - §edatabase health",
+                "§fShow stats batches, profile cache,\n§fconnection pool usage and query timings.", "/" + getParent().getName() + " " + getSubCommandName(), ClickEvent.Action.RUN_COMMAND));
+    }
+
+    @Override
+    public boolean execute(String[] args, CommandSender s) {
+        StatsWriter writer = BedWars.getStatsManager().getWriter();
+        s.sendMessage("§6 ▪ §7Stats writer: §f" + writer.getQueued() + " §7queued, §f" + writer.getBatches() + " §7batches, last §f"
+                + writer.getLastBatchSize() + " §7players in §f" + formatMillis(writer.getLastBatchNanos()) + "ms§7, avg §f"
+                + String.format("%.1f", writer.getAverageBatchSize()) + " §7players in §f" + formatMillis(writer.getAverageBatchNanos()) + "ms");
+        ProfileCache profiles = ProfileLoader.getCache();
+        s.sendMessage("§6 ▪ §7Profile cache: §f" + profiles.getSize() + " §7cached, §f" + profiles.getHits() + " §7hits, §f"
+                + profiles.getMisses() + " §7misses, hit rate §f" + String.format("%.1f", profiles.getHitRate()) + "%");
+        if (!(BedWars.getRemoteDatabase() instanceof MySQL)) {
+            s.sendMessage("§c ▪ §7Pool and query metrics are only available when using MySQL.");
+            return true;
+        }
+        MySQL database = (MySQL) BedWars.getRemoteDatabase();
+        HikariPoolMXBean pool = database.getPool();
+        if (null == pool) {
+            s.sendMessage("§c ▪ §7The connection pool is not running.");
+            return true;
+        }
+        s.sendMessage("§6 ▪ §7Pool: §f" + pool.getActiveConnections() + " §7active, §f" + pool.getIdleConnections() + " §7idle, §f"
+                + pool.getTotalConnections() + "§7/§f" + database.getPoolSize() + " §7open, §f" + pool.getThreadsAwaitingConnection() + " §7waiting");
+        QueryMetrics metrics = database.getMetrics();
+        s.sendMessage("§6 ▪ §7Connection acquire: " + summary(metrics.getAcquire()));
+        int pending = database.getJournal().getPending();
+        s.sendMessage("§6 ▪ §7Journal: §f" + pending + " §7pending writes"
+                + (pending == 0 ? "" : ", oldest §f" + database.getJournal().getOldestAge() / 1000 + "s §7ago"));
+        List<QueryMetrics.Timing> queries = metrics.getQueries();
+        if (queries.isEmpty()) {
+            s.sendMessage("§6 ▪ §7No query was executed yet.");
+            return true;
+        }
+        long[] buckets = QueryMetrics.getBuckets();
+        for (QueryMetrics.Timing timing : queries) {
+            s.sendMessage("§6 ▪ §e" + timing.getName() + " " + summary(timing));
+            StringBuilder histogram = new StringBuilder("§7  ");
+            for (int bucket = 0; bucket <= buckets.length; bucket++) {
+                long samples = timing.getBucket(bucket);
+                if (samples == 0) continue;
+                histogram.append(' ').append(bucket < buckets.length ? "<" + buckets[bucket] : ">" + buckets[buckets.length - 1])
+                        .append("ms: §f").append(samples).append("§7");
+            }
+            s.sendMessage(histogram.toString());
+        }
+        return true;
+    }
+
+    private static String summary(QueryMetrics.Timing timing) {
+        long p95 = timing.getPercentile(95);
+        return "§f" + timing.getCount() + " §7samples, avg §f" + formatMillis(timing.getAverageNanos()) + "ms§7, p95 §f"
+                + (p95 == -1 ? ">" + QueryMetrics.getBuckets()[QueryMetrics.getBuckets().length - 1] : "<" + p95) + "ms§7, max §f"
+                + formatMillis(timing.getMaxNanos()) + "ms";
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    @Override
+    public List<String> getTabComplete() {
+        return null;
+    }
+
+    @Override
+    public boolean canSee(CommandSender s, com.andrei1058.bedwars.api.BedWars api) {
+        if (s instanceof Player) {
+            Player p = (Player) s;
+            if (Arena.isInArena(p)) return false;
+            if (SetupSession.isInSetupSession(p.getUniqueId())) return false;
+        }
+        return hasPermission(s);
+    }
+}
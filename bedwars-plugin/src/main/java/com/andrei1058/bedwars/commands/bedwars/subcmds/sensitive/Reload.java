@@ -29,6 +29,8 @@ import com.andrei1058.bedwars.arena.Misc;
 import com.andrei1058.bedwars.arena.SetupSession;
 import com.andrei1058.bedwars.commands.bedwars.MainCommand;
 import com.andrei1058.bedwars.configuration.Permissions;
+import com.andrei1058.bedwars.sidebar.SidebarTemplate;
+import com.andrei1058.bedwars.sidebar.TitleAnimation;
 import net.md_5.bungee.api.chat.ClickEvent;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -55,8 +57,12 @@ public class Reload extends SubCommand {
         }
         for (Language l : Language.getLanguages()){
             l.reload();
+            l.compile();
             s.sendMessage("§6 ▪ §7"+l.getLangName()+" reloaded!");
         }
+        // compiled from old messages
+        SidebarTemplate.clearCache();
+        TitleAnimation.clearCache();
         return true;
     }
 
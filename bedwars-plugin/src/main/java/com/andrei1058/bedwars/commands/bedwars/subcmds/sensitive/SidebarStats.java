@@ -0,0 +1,89 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive;
+
+import com.andrei1058.bedwars.api.command.ParentCommand;
+import com.andrei1058.bedwars.api.command.SubCommand;
+import com.andrei1058.bedwars.arena.Arena;
+import com.andrei1058.bedwars.arena.Misc;
+import com.andrei1058.bedwars.arena.SetupSession;
+import com.andrei1058.bedwars.configuration.Permissions;
+import com.andrei1058.bedwars.sidebar.SidebarService;
+import com.andrei1058.bedwars.sidebar.thread.BucketRefreshTask;
+import net.md_5.bungee.api.chat.ClickEvent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+
+public class SidebarStats extends SubCommand {
+
+    public SidebarStats(ParentCommand parent, String name) {
+        super(parent, name);
+        setPriority(13);
+        showInList(true);
+        setPermission(Permissions.PERMISSION_SIDEBAR_STATS);
+        setDisplayInfo(Misc.msgHoverClick("§6 ▪ §7/" + getParent().getName() + " " + getSubCommandName() + "     §8 - §esidebar refresh cost",
+                "§fShow how much time sidebar refresh\n§ftasks spend on each bucket.", "/" + getParent().getName() + " " + getSubCommandName(), ClickEvent.Action.RUN_COMMAND));
+    }
+
+    @Override
+    public boolean execute(String[] args, CommandSender s) {
+        SidebarService service = SidebarService.getInstance();
+        if (null == service) {
+            s.sendMessage("§c ▪ §7Sidebar service is not running.");
+            return true;
+        }
+        s.sendMessage("§6 ▪ §7Sidebar refresh buckets: §f" + service.getBucketCount());
+        if (service.getRefreshTasks().isEmpty()) {
+            s.sendMessage("§6 ▪ §7No bucketed refresh task is running.");
+            return true;
+        }
+        for (BucketRefreshTask task : service.getRefreshTasks()) {
+            s.sendMessage("§6 ▪ §e" + task.getName() + " §7every §f" + task.getInterval() + " §7ticks, §f"
+                    + task.getBuckets() + " §7buckets, one every §f" + task.getPeriod() + " §7ticks");
+            for (int bucket = 0; bucket < task.getBuckets(); bucket++) {
+                s.sendMessage("§7   #" + bucket + ": §f" + task.getLastSidebars(bucket) + " §7sidebars, last §f"
+                        + formatMillis(task.getLastNanos(bucket)) + "ms§7, avg §f" + formatMillis(task.getAverageNanos(bucket)) + "ms");
+            }
+        }
+        return true;
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    @Override
+    public List<String> getTabComplete() {
+        return null;
+    }
+
+    @Override
+    public boolean canSee(CommandSender s, com.andrei1058.bedwars.api.BedWars api) {
+        if (s instanceof Player) {
+            Player p = (Player) s;
+            if (Arena.isInArena(p)) return false;
+            if (SetupSession.isInSetupSession(p.getUniqueId())) return false;
+        }
+        return hasPermission(s);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.commands.bedwars.subcmds.sensitive;
+
+import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.api.command.ParentCommand;
+import com.andrei1058.bedwars.api.command.SubCommand;
+import com.andrei1058.bedwars.arena.Arena;
+import com.andrei1058.bedwars.arena.Misc;
+import com.andrei1058.bedwars.arena.SetupSession;
+import com.andrei1058.bedwars.configuration.Permissions;
+import net.md_5.bungee.api.chat.ClickEvent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.andrei1058.bedwars.BedWars.plugin;
+
+public class WarmUp extends SubCommand {
+
+    public WarmUp(ParentCommand parent, String name) {
+        super(parent, name);
+        setPriority(12);
+        showInList(true);
+        setPermission(Permissions.PERMISSION_WARM_UP);
+        setDisplayInfo(Misc.msgHoverClick("§6 ▪ §7/" + getParent().getName() + " " + getSubCommandName() + "     §8 - §epreload arena maps",
+                "§fPreload arena maps in memory.\n§fOnly used by Slime adapters.", "/" + getParent().getName() + " " + getSubCommandName(), ClickEvent.Action.RUN_COMMAND));
+    }
+
+    @Override
+    public boolean execute(String[] args, CommandSender s) {
+        List<String> arenas = getArenaNames();
+        BedWars.getAPI().getRestoreAdapter().warmUp(arenas);
+        s.sendMessage("§6 ▪ §7Preloading " + arenas.size() + " arena maps using " + BedWars.getAPI().getRestoreAdapter().getDisplayName() + ". Check the console.");
+        return true;
+    }
+
+    /**
+     * Get the name of every arena configuration.
+     */
+    public static List<String> getArenaNames() {
+        List<String> arenas = new ArrayList<>();
+        File[] fls = new File(plugin.getDataFolder(), "/Arenas").listFiles();
+        if (fls != null) {
+            for (File fl : fls) {
+                if (fl.isFile() && fl.getName().endsWith(".yml")) {
+                    arenas.add(fl.getName().replace(".yml", ""));
+                }
+            }
+        }
+        return arenas;
+    }
+
+    @Override
+    public List<String> getTabComplete() {
+        return null;
+    }
+
+    @Override
+    public boolean canSee(CommandSender s, com.andrei1058.bedwars.api.BedWars api) {
+        if (s instanceof Player) {
+            Player p = (Player) s;
+            if (Arena.isInArena(p)) return false;
+            if (SetupSession.isInSetupSession(p.getUniqueId())) return false;
+        }
+        return hasPermission(s);
+    }
+}
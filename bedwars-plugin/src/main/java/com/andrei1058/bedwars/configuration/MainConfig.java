@@ -66,6 +66,7 @@ public class MainConfig extends ConfigManager {
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_USE_GAME_SIDEBAR, true);
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_TITLE_REFRESH_INTERVAL, 4);
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_PLACEHOLDERS_REFRESH_INTERVAL, 20);
+        yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_REFRESH_BUCKETS, 4);
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_LIST_FORMAT_LOBBY, false);
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_LIST_FORMAT_WAITING, false);
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_LIST_FORMAT_STARTING, false);
@@ -75,6 +76,7 @@ public class MainConfig extends ConfigManager {
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_HEALTH_ENABLE, true);
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_HEALTH_IN_TAB, true);
         yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_HEALTH_REFRESH, 300);
+        yml.addDefault(ConfigPath.SB_CONFIG_SIDEBAR_HEALTH_RECONCILE, false);
         yml.addDefault(ConfigPath.SB_CONFIG_TAB_HEADER_FOOTER_ENABLE, true);
         yml.addDefault(ConfigPath.SB_CONFIG_TAB_HEADER_FOOTER_REFRESH_INTERVAL, 10);
 
@@ -143,10 +145,26 @@ public class MainConfig extends ConfigManager {
         yml.addDefault("database.user", "root");
         yml.addDefault("database.pass", "cheese");
         yml.addDefault("database.ssl", false);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DATABASE_POOL_SIZE, 10);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DATABASE_MAX_LIFETIME, 1800);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DATABASE_CONNECTION_TIMEOUT, 30);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DATABASE_SOCKET_TIMEOUT, 30);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DATABASE_STATEMENT_CACHE_SIZE, 275);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DATABASE_STATEMENT_CACHE_SQL_LIMIT, 2048);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DATABASE_MAIN_THREAD_QUERY_WARNING, 50);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_STATS_FLUSH_INTERVAL, 5);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_LEVEL_FLUSH_INTERVAL, 60);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_PROFILE_LOAD_TIMEOUT, 10);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_PROFILE_CACHE_TTL, 30);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_PROFILE_CACHE_SIZE, 500);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_LEADERBOARD_SIZE, 10);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_LEADERBOARD_REFRESH_INTERVAL, 60);
 
         yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_ROTATE_GEN, true);
         yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_SPOIL_TNT_PLAYERS, true);
         yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_PAPER_FEATURES, true);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM_ENABLE, true);
+        yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_CHUNK_PRE_WARM_PER_TICK, 4);
 
         yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DISABLE_CRAFTING, true);
         yml.addDefault(ConfigPath.GENERAL_CONFIGURATION_DISABLE_ENCHANTING, true);
@@ -353,29 +371,29 @@ public class MainConfig extends ConfigManager {
                 if (f.isFile()) {
                     if (f.getName().contains("messages_") && f.getName().contains(".yml")) {
                         String lang = f.getName().replace("messages_", "").replace(".yml", "");
-                        if (lang.equalsIgnoreCase(yml.getString("language"))) {
-                            whatLang = f.getName().replace("messages_", "").replace(".yml", "");
-                        }
-                        if (Language.getLang(lang) == null) new Language(BedWars.plugin, lang);
+                        Language.registerLanguage(lang, () -> new Language(BedWars.plugin, lang));
                     }
                 }
             }
         }
-        Language def = Language.getLang(whatLang);
-
-        if (def == null) throw new IllegalStateException("Could not found default language: " + whatLang);
-        Language.setDefaultLanguage(def);
+        if (Language.isLanguageExist(yml.getString("language"))) {
+            whatLang = yml.getString("language");
+        }
 
         //remove languages if disabled
         //server language can t be disabled
         for (String iso : yml.getStringList(ConfigPath.GENERAL_CONFIGURATION_DISABLED_LANGUAGES)) {
-            Language l = Language.getLang(iso);
-            if (l != null) {
-                if (l != def) Language.getLanguages().remove(l);
-            }
+            if (!whatLang.equalsIgnoreCase(iso)) Language.removeLanguage(iso);
         }
         //
 
+        // disabled languages are never loaded
+        Language.loadAvailableLanguages();
+        Language def = Language.getLang(whatLang);
+
+        if (def == null) throw new IllegalStateException("Could not found default language: " + whatLang);
+        Language.setDefaultLanguage(def);
+
         BedWars.setDebug(yml.getBoolean("debug"));
         new ConfigManager(plugin, "bukkit", Bukkit.getWorldContainer().getPath()).set("ticks-per.autosave", -1);
 
@@ -38,6 +38,9 @@ public class Permissions {
     public static final String PERMISSION_ARENA_DISABLE = BedWars.mainCmd+".disable";
     public static final String PERMISSION_NPC = BedWars.mainCmd+".npc";
     public static final String PERMISSION_RELOAD = BedWars.mainCmd+".reload";
+    public static final String PERMISSION_WARM_UP = BedWars.mainCmd+".warmup";
+    public static final String PERMISSION_SIDEBAR_STATS = BedWars.mainCmd+".sidebarstats";
+    public static final String PERMISSION_DATABASE_STATS = BedWars.mainCmd+".dbstats";
     public static final String PERMISSION_REJOIN = BedWars.mainCmd+".rejoin";
     public static final String PERMISSION_LEVEL = BedWars.mainCmd+".level";
     public static final String PERMISSION_CHAT_COLOR = BedWars.mainCmd+".chatcolor";
@@ -20,19 +20,23 @@
 
 package com.andrei1058.bedwars.database;
 
-import com.andrei1058.bedwars.shop.quickbuy.QuickBuyElement;
+import com.andrei1058.bedwars.stats.LeaderboardService;
 import com.andrei1058.bedwars.stats.PlayerStats;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface Database {
 
     /**
      * Initialize database.
+     *
+     * @return false if the tables could not be created or migrated.
      */
-    void init();
+    boolean init();
 
     /**
      * Check if player has remote stats.
@@ -44,30 +48,35 @@ public interface Database {
      */
     void saveStats(PlayerStats stats);
 
-    PlayerStats fetchStats(UUID uuid);
-
     /**
-     * Set quick buy slot value.
+     * Create or replace stats for multiple players using batched statements.
      */
-    @Deprecated
-    @SuppressWarnings("unused")
-    void setQuickBuySlot(UUID uuid, String shopPath, int slot);
+    void saveStats(List<PlayerStats> stats);
+
+    PlayerStats fetchStats(UUID uuid);
 
     /**
-     * Get quick buy slot value.
+     * Load stats, language, level and quick buy of a player at once.
+     *
+     * @return null if the data could not be loaded.
      */
-    String getQuickBuySlots(UUID uuid, int slot);
+    PlayerProfile fetchProfile(UUID uuid);
 
     /**
-     * Get quick buy.
+     * Get a quick buy layout.
      * slot - identifier string
+     *
+     * @return null if the player never customised the quick buy.
+     * @throws SQLException if the layout could not be read.
      */
-    HashMap<Integer, String> getQuickBuySlots(UUID uuid, int[] slot);
+    @Nullable
+    Map<Integer, String> getQuickBuy(UUID uuid) throws SQLException;
 
     /**
-     * Check if has quick buy.
+     * Replace a quick buy layout.
+     * slot - identifier string
      */
-    boolean hasQuickBuy(UUID player);
+    void saveQuickBuy(UUID uuid, Map<Integer, String> layout);
 
     /**
      * Get a stats value for the given player.
@@ -101,7 +110,21 @@ public interface Database {
     String getLanguage(UUID player);
 
     /**
-     * @param updateSlots key is slot id and value is the element.
+     * Write stats, levels and quick buy layouts of several players in a single transaction.
+     *
+     * @return false if the batch could not be written now.
+     */
+    boolean saveAll(PlayerDataBatch batch);
+
+    /**
+     * Get the best players for a statistic, ordered by position.
+     *
+     * @return null if the query failed.
+     */
+    List<LeaderboardEntry> fetchLeaderboard(LeaderboardService.Statistic statistic, int limit);
+
+    /**
+     * Finish pending writes and close connections.
      */
-    void pushQuickBuyChanges(HashMap<Integer, String> updateSlots, UUID uuid, List<QuickBuyElement> elementList);
+    void close();
 }
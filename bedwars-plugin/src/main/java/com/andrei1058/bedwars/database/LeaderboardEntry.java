@@ -0,0 +1,76 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A row of a leaderboard.
+ */
+public final class LeaderboardEntry {
+
+    private final UUID uuid;
+    private final String name;
+    private final int value;
+
+    public LeaderboardEntry(UUID uuid, String name, int value) {
+        this.uuid = uuid;
+        this.name = name;
+        this.value = value;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    /**
+     * Last known player name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Read uuid, name and value columns.
+     */
+    static List<LeaderboardEntry> readAll(ResultSet result) throws SQLException {
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        while (result.next()) {
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(result.getString(1));
+            } catch (IllegalArgumentException | NullPointerException ignored) {
+                continue;
+            }
+            String name = result.getString(2);
+            entries.add(new LeaderboardEntry(uuid, name == null ? "" : name, result.getInt(3)));
+        }
+        return entries;
+    }
+}
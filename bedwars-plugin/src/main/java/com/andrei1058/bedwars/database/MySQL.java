@@ -21,14 +21,21 @@
 package com.andrei1058.bedwars.database;
 
 import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.api.configuration.ConfigPath;
 import com.andrei1058.bedwars.api.language.Language;
-import com.andrei1058.bedwars.shop.quickbuy.QuickBuyElement;
+import com.andrei1058.bedwars.stats.LeaderboardService;
 import com.andrei1058.bedwars.stats.PlayerStats;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.io.File;
 import java.sql.*;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -49,6 +56,19 @@ public class MySQL implements Database {
     private final boolean certificateVerification;
     private final int poolSize;
     private final int maxLifetime;
+    private final int connectionTimeout;
+    private final int socketTimeout;
+    private final int statementCacheSize;
+    private final int statementCacheSqlLimit;
+    private final QueryMetrics metrics;
+    // writes that failed while the database was unavailable
+    private final WriteJournal journal;
+    private BukkitTask journalTask;
+
+    private static final String STATS = "stats";
+    private static final String LEVEL = "level";
+    private static final String LANGUAGE = "language";
+    private static final String QUICK_BUY = "quick_buy";
 
     /**
      * Create new MySQL connection.
@@ -61,8 +81,14 @@ public class MySQL implements Database {
         this.port = config.getYml().getInt("database.port");
         this.ssl = config.getYml().getBoolean("database.ssl");
         this.certificateVerification = config.getYml().getBoolean("database.verify-certificate", true);
-        this.poolSize = config.getYml().getInt("database.pool-size", 10);
-        this.maxLifetime = config.getYml().getInt("database.max-lifetime", 1800);
+        this.poolSize = config.getInt(ConfigPath.GENERAL_CONFIGURATION_DATABASE_POOL_SIZE);
+        this.maxLifetime = config.getInt(ConfigPath.GENERAL_CONFIGURATION_DATABASE_MAX_LIFETIME);
+        this.connectionTimeout = config.getInt(ConfigPath.GENERAL_CONFIGURATION_DATABASE_CONNECTION_TIMEOUT);
+        this.socketTimeout = config.getInt(ConfigPath.GENERAL_CONFIGURATION_DATABASE_SOCKET_TIMEOUT);
+        this.statementCacheSize = config.getInt(ConfigPath.GENERAL_CONFIGURATION_DATABASE_STATEMENT_CACHE_SIZE);
+        this.statementCacheSqlLimit = config.getInt(ConfigPath.GENERAL_CONFIGURATION_DATABASE_STATEMENT_CACHE_SQL_LIMIT);
+        this.metrics = new QueryMetrics(config.getInt(ConfigPath.GENERAL_CONFIGURATION_DATABASE_MAIN_THREAD_QUERY_WARNING));
+        this.journal = new WriteJournal(new File(BedWars.plugin.getDataFolder(), "Cache/mysql-journal.log"), this::apply);
     }
 
     /**
@@ -75,8 +101,9 @@ public class MySQL implements Database {
 
         hikariConfig.setPoolName("BedWars1058MySQLPool");
 
-        hikariConfig.setMaximumPoolSize(poolSize);
-        hikariConfig.setMaxLifetime(maxLifetime * 1000L);
+        hikariConfig.setMaximumPoolSize(Math.max(1, poolSize));
+        hikariConfig.setMaxLifetime(TimeUnit.SECONDS.toMillis(maxLifetime));
+        hikariConfig.setConnectionTimeout(TimeUnit.SECONDS.toMillis(Math.max(1, connectionTimeout)));
 
         hikariConfig.setJdbcUrl("jdbc:mysql://" + host + ":" + port + "/" + database);
 
@@ -95,28 +122,42 @@ public class MySQL implements Database {
         hikariConfig.addDataSourceProperty("rewriteBatchedStatements", "true");
         hikariConfig.addDataSourceProperty("jdbcCompliantTruncation", "false");
 
-        hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
-        hikariConfig.addDataSourceProperty("prepStmtCacheSize", "275");
-        hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        // statements are prepared for each query, the driver reuses them per connection
+        hikariConfig.addDataSourceProperty("cachePrepStmts", String.valueOf(statementCacheSize > 0));
+        if (statementCacheSize > 0) {
+            hikariConfig.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", String.valueOf(statementCacheSqlLimit));
+        }
 
         // Recover if connection gets interrupted
-        hikariConfig.addDataSourceProperty("socketTimeout", String.valueOf(TimeUnit.SECONDS.toMillis(30)));
+        hikariConfig.addDataSourceProperty("socketTimeout", String.valueOf(TimeUnit.SECONDS.toMillis(socketTimeout)));
 
         dataSource = new HikariDataSource(hikariConfig);
 
-        try {
-            dataSource.getConnection();
+        try (Connection ignored = dataSource.getConnection()) {
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
-        return true;
+    }
+
+    /**
+     * Borrow a pooled connection, recording how long it took.
+     */
+    private Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return dataSource.getConnection();
+        } finally {
+            metrics.recordAcquire(System.nanoTime() - start);
+        }
     }
 
     @Override
     public boolean hasStats(UUID uuid) {
         String sql = "SELECT uuid FROM global_stats WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
+        try (QueryMetrics.Sample ignored = metrics.time("hasStats"); Connection connection = getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, uuid.toString());
                 try (ResultSet result = statement.executeQuery()) {
@@ -130,8 +171,8 @@ public class MySQL implements Database {
     }
 
     @Override
-    public void init() {
-        try (Connection connection = dataSource.getConnection()) {
+    public boolean init() {
+        try (QueryMetrics.Sample ignored = metrics.time("init"); Connection connection = getConnection()) {
             String sql = "CREATE TABLE IF NOT EXISTS global_stats (id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
                     "name VARCHAR(200), uuid VARCHAR(200), first_play TIMESTAMP NULL DEFAULT NULL, " +
                     "last_play TIMESTAMP NULL DEFAULT NULL, wins INT(200), kills INT(200), " +
@@ -159,178 +200,151 @@ public class MySQL implements Database {
             try (Statement statement = connection.createStatement()) {
                 statement.executeUpdate(sql);
             }
+
+            try {
+                new SchemaMigrator(SchemaMigrator.Dialect.MYSQL).migrate(connection);
+            } catch (SQLException e) {
+                // upserts rely on the unique uuid indexes and on the quick buy layout table
+                BedWars.plugin.getLogger().severe("Could not migrate the database schema! Make sure the database user is allowed to ALTER and CREATE INDEX.");
+                e.printStackTrace();
+                return false;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
+        journalTask = Bukkit.getScheduler().runTaskTimerAsynchronously(BedWars.plugin, () -> {
+            if (!journal.isEmpty()) {
+                journal.replay();
+            }
+        }, 20L * 30, 20L * 30);
+        return true;
     }
 
     @Override
     public void saveStats(PlayerStats stats) {
-        String sql;
-        try (Connection connection = dataSource.getConnection()) {
-            if (hasStats(stats.getUuid())) {
-                sql = "UPDATE global_stats SET first_play=?, last_play=?, wins=?, kills=?, final_kills=?, looses=?, deaths=?, final_deaths=?, beds_destroyed=?, games_played=?, name=? WHERE uuid = ?;";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setTimestamp(1, stats.getFirstPlay() != null ? Timestamp.from(stats.getFirstPlay()) : null);
-                    statement.setTimestamp(2, stats.getLastPlay() != null ? Timestamp.from(stats.getLastPlay()) : null);
-                    statement.setInt(3, stats.getWins());
-                    statement.setInt(4, stats.getKills());
-                    statement.setInt(5, stats.getFinalKills());
-                    statement.setInt(6, stats.getLosses());
-                    statement.setInt(7, stats.getDeaths());
-                    statement.setInt(8, stats.getFinalDeaths());
-                    statement.setInt(9, stats.getBedsDestroyed());
-                    statement.setInt(10, stats.getGamesPlayed());
-                    statement.setString(11, stats.getName());
-                    statement.setString(12, stats.getUuid().toString());
-                    statement.executeUpdate();
-                }
-            } else {
-                sql = "INSERT INTO global_stats (name, uuid, first_play, last_play, wins, kills, final_kills, looses, deaths, final_deaths, beds_destroyed, games_played) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setString(1, stats.getName());
-                    statement.setString(2, stats.getUuid().toString());
-                    statement.setTimestamp(3, Timestamp.from(stats.getFirstPlay()));
-                    statement.setTimestamp(4, Timestamp.from(stats.getLastPlay()));
-                    statement.setInt(5, stats.getWins());
-                    statement.setInt(6, stats.getKills());
-                    statement.setInt(7, stats.getFinalKills());
-                    statement.setInt(8, stats.getLosses());
-                    statement.setInt(9, stats.getDeaths());
-                    statement.setInt(10, stats.getFinalDeaths());
-                    statement.setInt(11, stats.getBedsDestroyed());
-                    statement.setInt(12, stats.getGamesPlayed());
-                    statement.executeUpdate();
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        saveStats(Collections.singletonList(stats));
+    }
+
+    @Override
+    public void saveStats(List<PlayerStats> stats) {
+        List<String[]> entries = new ArrayList<>(stats.size());
+        for (PlayerStats entry : stats) {
+            entries.add(statsEntry(entry));
         }
+        write(entries);
+    }
+
+    @Override
+    public boolean saveAll(PlayerDataBatch batch) {
+        List<String[]> entries = new ArrayList<>();
+        for (PlayerStats entry : batch.getStats()) {
+            entries.add(statsEntry(entry));
+        }
+        for (PlayerDataBatch.LevelData entry : batch.getLevels()) {
+            entries.add(levelEntry(entry.getUuid(), entry.getLevel(), entry.getXp(), entry.getDisplayName(), entry.getNextCost()));
+        }
+        batch.getQuickBuy().forEach((uuid, layout) -> entries.add(quickBuyEntry(uuid, layout)));
+        return write(entries);
+    }
+
+    private static String[] statsEntry(PlayerStats entry) {
+        return new String[]{STATS, entry.getUuid().toString(), entry.getName(),
+                entry.getFirstPlay() != null ? String.valueOf(entry.getFirstPlay().toEpochMilli()) : null,
+                entry.getLastPlay() != null ? String.valueOf(entry.getLastPlay().toEpochMilli()) : null,
+                String.valueOf(entry.getWins()), String.valueOf(entry.getKills()), String.valueOf(entry.getFinalKills()),
+                String.valueOf(entry.getLosses()), String.valueOf(entry.getDeaths()), String.valueOf(entry.getFinalDeaths()),
+                String.valueOf(entry.getBedsDestroyed()), String.valueOf(entry.getGamesPlayed())};
+    }
+
+    private static String[] levelEntry(UUID uuid, int level, int xp, String displayName, int nextCost) {
+        return new String[]{LEVEL, uuid.toString(), String.valueOf(level), String.valueOf(xp), displayName, String.valueOf(nextCost)};
+    }
+
+    private static String[] quickBuyEntry(UUID uuid, Map<Integer, String> layout) {
+        return new String[]{QUICK_BUY, uuid.toString(), Base64.getEncoder().encodeToString(QuickBuyLayout.encode(layout))};
     }
 
     @Override
     public PlayerStats fetchStats(UUID uuid) {
+        try (QueryMetrics.Sample ignored = metrics.time("fetchStats"); Connection connection = getConnection()) {
+            return fetchStats(connection, uuid);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new PlayerStats(uuid);
+    }
+
+    private PlayerStats fetchStats(Connection connection, UUID uuid) throws SQLException {
         PlayerStats stats = new PlayerStats(uuid);
         String sql = "SELECT first_play, last_play, wins, kills, final_kills, looses, deaths, final_deaths," +
                 "beds_destroyed, games_played FROM global_stats WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        Timestamp firstPlay = result.getTimestamp(1);
-                        Timestamp lastPlay = result.getTimestamp(2);
-                        stats.setFirstPlay(firstPlay != null ? firstPlay.toInstant() : null);
-                        stats.setLastPlay(lastPlay != null ? lastPlay.toInstant() : null);
-                        stats.setWins(result.getInt(3));
-                        stats.setKills(result.getInt(4));
-                        stats.setFinalKills(result.getInt(5));
-                        stats.setLosses(result.getInt(6));
-                        stats.setDeaths(result.getInt(7));
-                        stats.setFinalDeaths(result.getInt(8));
-                        stats.setBedsDestroyed(result.getInt(9));
-                        stats.setGamesPlayed(result.getInt(10));
-                    }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    Timestamp firstPlay = result.getTimestamp(1);
+                    Timestamp lastPlay = result.getTimestamp(2);
+                    stats.setFirstPlay(firstPlay != null ? firstPlay.toInstant() : null);
+                    stats.setLastPlay(lastPlay != null ? lastPlay.toInstant() : null);
+                    stats.setWins(result.getInt(3));
+                    stats.setKills(result.getInt(4));
+                    stats.setFinalKills(result.getInt(5));
+                    stats.setLosses(result.getInt(6));
+                    stats.setDeaths(result.getInt(7));
+                    stats.setFinalDeaths(result.getInt(8));
+                    stats.setBedsDestroyed(result.getInt(9));
+                    stats.setGamesPlayed(result.getInt(10));
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return stats;
     }
 
     @Override
-    public void setQuickBuySlot(UUID uuid, String shopPath, int slot) {
-        String sql = "SELECT uuid FROM quick_buy_2 WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (!result.next()) {
-                        sql = "INSERT INTO quick_buy_2 VALUES(0, ?, ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ');";
-                        try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-                            statement2.setString(1, uuid.toString());
-                            statement2.executeUpdate();
-                        }
-                    }
-                    BedWars.debug("UPDATE SET SLOT " + slot + " identifier " + shopPath);
-                    sql = "UPDATE quick_buy_2 SET slot_" + slot + " = ? WHERE uuid = ?;";
-                    try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-                        statement2.setString(1, shopPath);
-                        statement2.setString(2, uuid.toString());
-                        statement2.executeUpdate();
-                    }
-                }
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
+    public PlayerProfile fetchProfile(UUID uuid) {
+        try (QueryMetrics.Sample ignored = metrics.time("fetchProfile"); Connection connection = getConnection()) {
+            PlayerStats stats = fetchStats(connection, uuid);
+            Object[] levelData = getLevelData(connection, uuid);
+            return new PlayerProfile(uuid, stats, getLanguage(connection, uuid), (Integer) levelData[0], (Integer) levelData[1],
+                    getQuickBuy(connection, uuid));
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
+        return null;
     }
 
+    /**
+     * @return null if the player has no quick buy saved.
+     */
     @Override
-    public String getQuickBuySlots(UUID uuid, int slot) {
-        String sql = "SELECT slot_" + slot + " FROM quick_buy_2 WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        return result.getString(1);
-                    }
-                }
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
+    public Map<Integer, String> getQuickBuy(UUID uuid) throws SQLException {
+        try (QueryMetrics.Sample ignored = metrics.time("getQuickBuy"); Connection connection = getConnection()) {
+            return getQuickBuy(connection, uuid);
         }
-        return "";
     }
 
-    @Override
-    public HashMap<Integer, String> getQuickBuySlots(UUID uuid, int[] slot) {
-        HashMap<Integer, String> results = new HashMap<>();
-        if (slot.length == 0) {
-            return results;
-        }
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM quick_buy_2 WHERE uuid = ?;")) {
-                ps.setString(1, uuid.toString());
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        for (int i : slot) {
-                            String id = rs.getString("slot_" + i);
-                            if (null != id && !id.isEmpty()) {
-                                results.put(i, id);
-                            }
-                        }
-                    }
+    private Map<Integer, String> getQuickBuy(Connection connection, UUID uuid) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT layout FROM quick_buy_layout WHERE uuid = ?;")) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    return QuickBuyLayout.decode(result.getBytes(1));
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        return results;
+        return null;
     }
 
     @Override
-    public boolean hasQuickBuy(UUID uuid) {
-        String sql = "SELECT uuid FROM quick_buy_2 WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    return result.next();
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return false;
+    public void saveQuickBuy(UUID uuid, Map<Integer, String> layout) {
+        write(Collections.singletonList(quickBuyEntry(uuid, layout)));
     }
 
     @Override
     public int getColumn(UUID player, String column) {
         String sql = "SELECT ? FROM global_stats WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
+        try (QueryMetrics.Sample ignored = metrics.time("getColumn"); Connection connection = getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, column);
                 statement.setString(2, player.toString());
@@ -349,166 +363,217 @@ public class MySQL implements Database {
 
     @Override
     public Object[] getLevelData(UUID uuid) {
-        String sql = "SELECT level, xp, name, next_cost FROM player_levels WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        return new Object[]{
-                            result.getInt(1),
-                            result.getInt(2),
-                            result.getString(3),
-                            result.getInt(4)
-                        };
-                    }
-                }
-            }
+        try (QueryMetrics.Sample ignored = metrics.time("getLevelData"); Connection connection = getConnection()) {
+            return getLevelData(connection, uuid);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return new Object[]{1, 0, "", 0};
     }
 
-    @Override
-    public void setLevelData(UUID uuid, int level, int xp, String displayName, int nextCost) {
-        String sql = "SELECT uuid from player_levels WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (!result.next()) {
-                        sql = "INSERT INTO player_levels VALUES (?, ?, ?, ?, ?, ?);";
-                        try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-                            statement2.setInt(1, 0);
-                            statement2.setString(2, uuid.toString());
-                            statement2.setInt(3, level);
-                            statement2.setInt(4, xp);
-                            statement2.setString(5, displayName);
-                            statement2.setInt(6, nextCost);
-                            statement2.executeUpdate();
-                        }
-                    } else {
-                        if (displayName == null) {
-                            sql = "UPDATE player_levels SET level=?, xp=? WHERE uuid = ?;";
-                        } else {
-                            sql = "UPDATE player_levels SET level=?, xp=?, name=?, next_cost=? WHERE uuid = ?;";
-                        }
-                        try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-                            statement2.setInt(1, level);
-                            statement2.setInt(2, xp);
-                            if (displayName != null) {
-                                statement2.setString(3, displayName);
-                                statement2.setInt(4, nextCost);
-                                statement2.setString(5, uuid.toString());
-                            } else {
-                                statement2.setString(3, uuid.toString());
-                            }
-                            statement2.executeUpdate();
-                        }
-                    }
+    private Object[] getLevelData(Connection connection, UUID uuid) throws SQLException {
+        String sql = "SELECT level, xp, name, next_cost FROM player_levels WHERE uuid = ?;";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    return new Object[]{
+                        result.getInt(1),
+                        result.getInt(2),
+                        result.getString(3),
+                        result.getInt(4)
+                    };
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
+        return new Object[]{1, 0, "", 0};
+    }
+
+    @Override
+    public void setLevelData(UUID uuid, int level, int xp, String displayName, int nextCost) {
+        write(Collections.singletonList(levelEntry(uuid, level, xp, displayName, nextCost)));
     }
 
     @Override
     public void setLanguage(UUID uuid, String iso) {
-        String sql = "SELECT iso FROM player_language WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        sql = "UPDATE player_language SET iso = ? WHERE uuid = ?;";
-                        try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-                            statement2.setString(1, iso);
-                            statement2.setString(2, uuid.toString());
-                            statement2.executeUpdate();
-                        }
-                    } else {
-                        sql = "INSERT INTO player_language VALUES (0, ?, ?);";
-                        try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-                            statement2.setString(1, uuid.toString());
-                            statement2.setString(2, iso);
-                            statement2.executeUpdate();
-                        }
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        write(Collections.singletonList(new String[]{LANGUAGE, uuid.toString(), iso}));
     }
 
     @Override
     public String getLanguage(UUID uuid) {
-        String sql = "SELECT iso FROM player_language WHERE uuid = ?;";
-        try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        return result.getString(1);
-                    }
-                }
-            }
+        try (QueryMetrics.Sample ignored = metrics.time("getLanguage"); Connection connection = getConnection()) {
+            return getLanguage(connection, uuid);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return Language.getDefaultLanguage().getIso();
     }
 
-    @Override
-    public void pushQuickBuyChanges(HashMap<Integer, String> updateSlots, UUID uuid, List<QuickBuyElement> elements) {
-        if (updateSlots.isEmpty()) return;
-        boolean hasQuick;
-        if (!(hasQuick = hasQuickBuy(uuid))) {
-            for (QuickBuyElement element : elements) {
-                if (!updateSlots.containsKey(element.getSlot())) {
-                    updateSlots.put(element.getSlot(), element.getCategoryContent().getIdentifier());
+    private String getLanguage(Connection connection, UUID uuid) throws SQLException {
+        String sql = "SELECT iso FROM player_language WHERE uuid = ?;";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    return result.getString(1);
                 }
             }
         }
-        StringBuilder columns = new StringBuilder();
-        StringBuilder values = new StringBuilder();
-        int i = 0;
-        if (hasQuick) {
-            for (Map.Entry<Integer, String> entry : updateSlots.entrySet()) {
-                i++;
-                columns.append("slot_").append(entry.getKey()).append("=?");
-                if (i != updateSlots.size()) {
-                    columns.append(", ");
+        return Language.getDefaultLanguage().getIso();
+    }
+
+    /**
+     * Execute writes or save them to the journal if the database is unavailable.
+     *
+     * @return false if the entries were journaled.
+     */
+    private boolean write(List<String[]> entries) {
+        return journal.write(entries, batch -> RetryPolicy.WRITES.run(() -> apply(batch)));
+    }
+
+    /**
+     * Write entries in a single transaction using upserts, so they can be replayed safely.
+     */
+    private void apply(List<String[]> entries) throws SQLException {
+        try (QueryMetrics.Sample ignored = metrics.time("write"); Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                List<String[]> stats = new ArrayList<>();
+                for (String[] entry : entries) {
+                    switch (entry[0]) {
+                        case STATS:
+                            stats.add(entry);
+                            break;
+                        case LEVEL:
+                            applyLevel(connection, entry);
+                            break;
+                        case LANGUAGE:
+                            applyLanguage(connection, entry);
+                            break;
+                        case QUICK_BUY:
+                            applyQuickBuy(connection, entry);
+                            break;
+                        default:
+                            throw new SQLDataException("Unknown write type " + entry[0]);
+                    }
                 }
+                if (!stats.isEmpty()) {
+                    applyStats(connection, stats);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                connection.rollback();
+                throw new SQLDataException("Malformed write entry", e);
             }
-        } else {
-            for (Map.Entry<Integer, String> entry : updateSlots.entrySet()) {
-                i++;
-                columns.append("slot_").append(entry.getKey());
-                values.append("?");
-                if (i != updateSlots.size()) {
-                    columns.append(", ");
-                    values.append(", ");
+        }
+    }
+
+    private static void applyStats(Connection connection, List<String[]> entries) throws SQLException {
+        String sql = "INSERT INTO global_stats (name, uuid, first_play, last_play, wins, kills, final_kills, looses, deaths, final_deaths, beds_destroyed, games_played) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE name=VALUES(name), first_play=VALUES(first_play), " +
+                "last_play=VALUES(last_play), wins=VALUES(wins), kills=VALUES(kills), final_kills=VALUES(final_kills), looses=VALUES(looses), " +
+                "deaths=VALUES(deaths), final_deaths=VALUES(final_deaths), beds_destroyed=VALUES(beds_destroyed), games_played=VALUES(games_played)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (String[] entry : entries) {
+                statement.setString(1, entry[2]);
+                statement.setString(2, entry[1]);
+                statement.setTimestamp(3, entry[3] != null ? new Timestamp(Long.parseLong(entry[3])) : null);
+                statement.setTimestamp(4, entry[4] != null ? new Timestamp(Long.parseLong(entry[4])) : null);
+                for (int i = 5; i <= 12; i++) {
+                    statement.setInt(i, Integer.parseInt(entry[i]));
                 }
+                statement.addBatch();
             }
+            statement.executeBatch();
         }
-        String sql = hasQuick ? "UPDATE quick_buy_2 SET " + columns + " WHERE uuid=?;" : "INSERT INTO quick_buy_2 (uuid," + columns + ") VALUES (?," + values + ");";
-        try (Connection con = dataSource.getConnection()) {
-            try (PreparedStatement ps = con.prepareStatement(sql)) {
-                int index = hasQuick ? 0 : 1;
-                for (int key : updateSlots.keySet()) {
-                    index++;
-                    String identifier = updateSlots.get(key);
-                    ps.setString(index, identifier.trim().isEmpty() ? null : identifier);
+    }
+
+    private static void applyLevel(Connection connection, String[] entry) throws SQLException {
+        String sql = "INSERT INTO player_levels (uuid, level, xp, name, next_cost) VALUES (?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE level=VALUES(level), xp=VALUES(xp)";
+        if (entry[4] != null) {
+            sql += ", name=VALUES(name), next_cost=VALUES(next_cost)";
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, entry[1]);
+            statement.setInt(2, Integer.parseInt(entry[2]));
+            statement.setInt(3, Integer.parseInt(entry[3]));
+            statement.setString(4, entry[4]);
+            statement.setInt(5, Integer.parseInt(entry[5]));
+            statement.executeUpdate();
+        }
+    }
+
+    private static void applyLanguage(Connection connection, String[] entry) throws SQLException {
+        String sql = "INSERT INTO player_language (uuid, iso) VALUES (?, ?) ON DUPLICATE KEY UPDATE iso=VALUES(iso);";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, entry[1]);
+            statement.setString(2, entry[2]);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void applyQuickBuy(Connection connection, String[] entry) throws SQLException {
+        String sql = "INSERT INTO quick_buy_layout (uuid, layout) VALUES (?, ?) ON DUPLICATE KEY UPDATE layout=VALUES(layout);";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, entry[1]);
+            statement.setBytes(2, Base64.getDecoder().decode(entry[2]));
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Writes waiting for the database to become available.
+     */
+    public WriteJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Connection pool state.
+     *
+     * @return null if the pool is not running.
+     */
+    public HikariPoolMXBean getPool() {
+        return dataSource == null ? null : dataSource.getHikariPoolMXBean();
+    }
+
+    public int getPoolSize() {
+        return Math.max(1, poolSize);
+    }
+
+    public QueryMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public List<LeaderboardEntry> fetchLeaderboard(LeaderboardService.Statistic statistic, int limit) {
+        String sql = statistic == LeaderboardService.Statistic.LEVEL ?
+                "SELECT l.uuid, s.name, l.level FROM player_levels l LEFT JOIN global_stats s ON s.uuid = l.uuid ORDER BY l.level DESC, l.xp DESC LIMIT ?;" :
+                "SELECT uuid, name, " + statistic.getColumn() + " FROM global_stats ORDER BY " + statistic.getColumn() + " DESC LIMIT ?;";
+        try (QueryMetrics.Sample ignored = metrics.time("fetchLeaderboard"); Connection connection = getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setInt(1, limit);
+                try (ResultSet result = statement.executeQuery()) {
+                    return LeaderboardEntry.readAll(result);
                 }
-                ps.setString(hasQuick ? updateSlots.size()+1 : 1, uuid.toString());
-                ps.execute();
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return null;
     }
 
+    @Override
+    public void close() {
+        if (journalTask != null) {
+            journalTask.cancel();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import com.andrei1058.bedwars.stats.PlayerStats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stats, levels and quick buy layouts of several players written in a single transaction.
+ * Collected at game end, so a game is either saved completely or not at all.
+ */
+public class PlayerDataBatch {
+
+    private final List<PlayerStats> stats = new ArrayList<>();
+    private final List<LevelData> levels = new ArrayList<>();
+    private final Map<UUID, Map<Integer, String>> quickBuy = new LinkedHashMap<>();
+    private final Set<UUID> players = new HashSet<>();
+
+    public void addStats(PlayerStats playerStats) {
+        stats.add(playerStats);
+        players.add(playerStats.getUuid());
+    }
+
+    public void addLevel(UUID player, int level, int xp, String displayName, int nextCost) {
+        levels.add(new LevelData(player, level, xp, displayName, nextCost));
+        players.add(player);
+    }
+
+    /**
+     * Replaces a layout added earlier for the same player.
+     */
+    public void addQuickBuy(UUID player, Map<Integer, String> layout) {
+        quickBuy.put(player, layout);
+        players.add(player);
+    }
+
+    public List<PlayerStats> getStats() {
+        return Collections.unmodifiableList(stats);
+    }
+
+    public List<LevelData> getLevels() {
+        return Collections.unmodifiableList(levels);
+    }
+
+    public Map<UUID, Map<Integer, String>> getQuickBuy() {
+        return Collections.unmodifiableMap(quickBuy);
+    }
+
+    /**
+     * Amount of players with at least one record in this batch.
+     */
+    public int getPlayers() {
+        return players.size();
+    }
+
+    public boolean isEmpty() {
+        return players.isEmpty();
+    }
+
+    /**
+     * Values of {@link Database#setLevelData(UUID, int, int, String, int)}.
+     */
+    public static final class LevelData {
+
+        private final UUID uuid;
+        private final int level;
+        private final int xp;
+        private final String displayName;
+        private final int nextCost;
+
+        private LevelData(UUID uuid, int level, int xp, String displayName, int nextCost) {
+            this.uuid = uuid;
+            this.level = level;
+            this.xp = xp;
+            this.displayName = displayName;
+            this.nextCost = nextCost;
+        }
+
+        public UUID getUuid() {
+            return uuid;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public int getXp() {
+            return xp;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public int getNextCost() {
+            return nextCost;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import com.andrei1058.bedwars.stats.PlayerStats;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Player data loaded from the database before the player joins.
+ */
+public final class PlayerProfile {
+
+    private final UUID uuid;
+    private final PlayerStats stats;
+    private final String language;
+    private final int level;
+    private final int levelXp;
+    private final Map<Integer, String> quickBuy;
+
+    /**
+     * @param quickBuy slot to identifier, null if the player has no quick buy saved.
+     */
+    public PlayerProfile(UUID uuid, PlayerStats stats, String language, int level, int levelXp, @Nullable Map<Integer, String> quickBuy) {
+        this.uuid = uuid;
+        this.stats = stats;
+        this.language = language;
+        this.level = level;
+        this.levelXp = levelXp;
+        this.quickBuy = quickBuy == null ? null : Collections.unmodifiableMap(quickBuy);
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    /**
+     * Stats as they were loaded. This instance is cached by the stats manager.
+     */
+    public PlayerStats getStats() {
+        return stats;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getLevelXp() {
+        return levelXp;
+    }
+
+    /**
+     * Quick buy slots, slot to category content identifier.
+     *
+     * @return null if the player has no quick buy saved.
+     */
+    @Nullable
+    public Map<Integer, String> getQuickBuy() {
+        return quickBuy;
+    }
+
+    public PlayerProfile withLanguage(String language) {
+        return new PlayerProfile(uuid, stats, language, level, levelXp, quickBuy);
+    }
+
+    public PlayerProfile withLevel(int level, int levelXp) {
+        return new PlayerProfile(uuid, stats, language, level, levelXp, quickBuy);
+    }
+
+    public PlayerProfile withQuickBuy(@Nullable Map<Integer, String> quickBuy) {
+        return new PlayerProfile(uuid, stats, language, level, levelXp, quickBuy);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of player profiles.
+ * Profiles of online players are kept up to date by the code saving their data,
+ * after they quit they are kept for a short time so a quick rejoin does not query the database.
+ */
+public class ProfileCache {
+
+    private final long ttl;
+    private final int maxSize;
+    // access ordered, the eldest entry is the least recently used
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+
+    /**
+     * @param ttl     milliseconds to keep profiles of players who left.
+     * @param maxSize max amount of profiles, online players included.
+     */
+    public ProfileCache(long ttl, int maxSize) {
+        this.ttl = Math.max(0, ttl);
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Get a profile for a player who is logging in.
+     * Counted for the hit rate.
+     */
+    @Nullable
+    public synchronized PlayerProfile load(UUID uuid) {
+        PlayerProfile profile = get(uuid);
+        if (profile == null) {
+            misses++;
+        } else {
+            hits++;
+            // in use again
+            entries.get(uuid).expires = Long.MAX_VALUE;
+        }
+        return profile;
+    }
+
+    /**
+     * Get a cached profile without affecting the hit rate.
+     */
+    @Nullable
+    public synchronized PlayerProfile get(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry == null) return null;
+        if (entry.expires < System.currentTimeMillis()) {
+            entries.remove(uuid);
+            return null;
+        }
+        return entry.profile;
+    }
+
+    /**
+     * Cache the profile of a player who is online.
+     */
+    public synchronized void put(PlayerProfile profile) {
+        entries.put(profile.getUuid(), new Entry(profile));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Replace a cached profile after its data was saved.
+     */
+    public synchronized void update(UUID uuid, UnaryOperator<PlayerProfile> change) {
+        Entry entry = entries.get(uuid);
+        if (entry != null) {
+            entry.profile = change.apply(entry.profile);
+        }
+    }
+
+    /**
+     * The player left, start the expiration time.
+     */
+    public synchronized void release(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry == null) return;
+        if (ttl == 0) {
+            entries.remove(uuid);
+        } else {
+            entry.expires = System.currentTimeMillis() + ttl;
+        }
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expires < now);
+        Iterator<Map.Entry<UUID, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return hits percentage of profile loads.
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits * 100d / total;
+    }
+
+    private static class Entry {
+        private PlayerProfile profile;
+        // online players never expire
+        private long expires = Long.MAX_VALUE;
+
+        private Entry(PlayerProfile profile) {
+            this.profile = profile;
+        }
+    }
+}
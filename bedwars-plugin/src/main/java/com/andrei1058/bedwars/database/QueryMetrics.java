@@ -0,0 +1,181 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import com.andrei1058.bedwars.BedWars;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timing histograms of database queries and connection acquisition.
+ * Queries running on the main thread for longer than the configured threshold are logged,
+ * because they freeze the server while waiting for the database.
+ */
+public final class QueryMetrics {
+
+    // upper bounds of the histogram buckets in millis, the last bucket has no upper bound
+    private static final long[] BUCKETS = {1, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+    private final Map<String, Timing> queries = new ConcurrentHashMap<>();
+    private final Timing acquire = new Timing("acquire");
+    private final long mainThreadWarning;
+
+    /**
+     * @param mainThreadWarning millis a query can take on the main thread before a warning is logged, 0 to disable.
+     */
+    public QueryMetrics(long mainThreadWarning) {
+        this.mainThreadWarning = TimeUnit.MILLISECONDS.toNanos(Math.max(0, mainThreadWarning));
+    }
+
+    /**
+     * Start timing a query. Close the returned sample when the query is done.
+     */
+    public Sample time(String query) {
+        return new Sample(query);
+    }
+
+    /**
+     * Record the time spent waiting for a pooled connection.
+     */
+    public void recordAcquire(long nanos) {
+        acquire.record(nanos);
+    }
+
+    public Timing getAcquire() {
+        return acquire;
+    }
+
+    /**
+     * Timings by query name, ordered by name.
+     */
+    public List<Timing> getQueries() {
+        List<Timing> timings = new ArrayList<>(queries.values());
+        timings.sort(Comparator.comparing(Timing::getName));
+        return timings;
+    }
+
+    /**
+     * Upper bounds of the histogram buckets in millis.
+     * Timings have one more bucket for longer values.
+     */
+    public static long[] getBuckets() {
+        return BUCKETS.clone();
+    }
+
+    public final class Sample implements AutoCloseable {
+
+        private final String query;
+        private final boolean mainThread;
+        private final long start;
+
+        private Sample(String query) {
+            this.query = query;
+            this.mainThread = Bukkit.isPrimaryThread();
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long took = System.nanoTime() - start;
+            queries.computeIfAbsent(query, Timing::new).record(took);
+            if (mainThread && mainThreadWarning > 0 && took > mainThreadWarning) {
+                BedWars.plugin.getLogger().warning("Database query " + query + " took " + TimeUnit.NANOSECONDS.toMillis(took)
+                        + "ms on the main thread!");
+            }
+        }
+    }
+
+    public static final class Timing {
+
+        private final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS.length + 1);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Timing(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKETS.length && millis >= BUCKETS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getAverageNanos() {
+            long samples = count.get();
+            return samples == 0 ? 0 : totalNanos.get() / samples;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Amount of samples in a histogram bucket.
+         */
+        public long getBucket(int bucket) {
+            return buckets.get(bucket);
+        }
+
+        /**
+         * Upper bound in millis of the bucket containing the given percentile.
+         *
+         * @return -1 if the percentile is in the last bucket, which has no upper bound.
+         */
+        public long getPercentile(double percentile) {
+            long samples = count.get();
+            if (samples == 0) return 0;
+            long target = (long) Math.ceil(samples * percentile / 100);
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS.length; bucket++) {
+                seen += buckets.get(bucket);
+                if (seen >= target) {
+                    return BUCKETS[bucket];
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serialises a quick buy layout, slot to category content identifier.
+ * <p>
+ * Format: version byte, entries count, then slot byte and identifier for each entry.
+ */
+public final class QuickBuyLayout {
+
+    private static final byte VERSION = 1;
+
+    private QuickBuyLayout() {
+    }
+
+    public static byte[] encode(Map<Integer, String> layout) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + layout.size() * 40);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(layout.size());
+            for (Map.Entry<Integer, String> entry : layout.entrySet()) {
+                out.writeByte(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+        } catch (IOException e) {
+            // not thrown by in-memory streams
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return null if the data is not a known layout.
+     */
+    @Nullable
+    public static Map<Integer, String> decode(byte[] data) {
+        if (data == null || data.length == 0) return null;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != VERSION) return null;
+            int size = in.readUnsignedByte();
+            Map<Integer, String> layout = new TreeMap<>();
+            for (int i = 0; i < size; i++) {
+                int slot = in.readUnsignedByte();
+                layout.put(slot, in.readUTF());
+            }
+            return layout;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import com.andrei1058.bedwars.BedWars;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+
+/**
+ * Decides if a failed database write is tried again.
+ * Only errors that usually go away on their own, like deadlocks and lock wait timeouts, are retried.
+ * Missing connections are not retried here because the connection pool already waited for one.
+ */
+public final class RetryPolicy {
+
+    /**
+     * Used by every database write.
+     */
+    public static final RetryPolicy WRITES = new RetryPolicy(3, 250L);
+
+    private final int attempts;
+    private final long backoff;
+
+    /**
+     * @param attempts how many times an action is tried in total.
+     * @param backoff  millis to wait before the first retry, doubled for each following one.
+     */
+    public RetryPolicy(int attempts, long backoff) {
+        this.attempts = Math.max(1, attempts);
+        this.backoff = Math.max(0, backoff);
+    }
+
+    /**
+     * Run an action, retrying it on transient errors.
+     *
+     * @throws SQLException the last error if the action could not be completed.
+     */
+    public void run(Action action) throws SQLException {
+        long wait = backoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                action.run();
+                return;
+            } catch (SQLException e) {
+                if (attempt >= attempts || !isRetryable(e)) {
+                    throw e;
+                }
+                BedWars.debug("Database write failed (" + e.getMessage() + "), retrying in " + wait + "ms.");
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                wait *= 2;
+            }
+        }
+    }
+
+    /**
+     * Check if an error is worth another attempt.
+     */
+    public static boolean isRetryable(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return false;
+            }
+            if (cause instanceof SQLTransientException) {
+                return true;
+            }
+            // serialization failure, reported with a generic exception by some drivers
+            if (cause instanceof SQLException && "40001".equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public interface Action {
+        void run() throws SQLException;
+    }
+}
@@ -17,27 +17,57 @@
  *
  * Contact e-mail: andrew.dascalu@gmail.com
  */
-
 package com.andrei1058.bedwars.database;
 
 import com.andrei1058.bedwars.BedWars;
 import com.andrei1058.bedwars.api.language.Language;
-import com.andrei1058.bedwars.shop.quickbuy.QuickBuyElement;
+import com.andrei1058.bedwars.stats.LeaderboardService;
 import com.andrei1058.bedwars.stats.PlayerStats;
 
 import java.io.File;
 import java.io.IOException;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * SQLite storage running in WAL mode.
+ * Writes are serialised through a single writer thread which groups queued writes into transactions,
+ * reads go through a small pool of read-only connections.
+ */
 public class SQLite implements Database {
 
+    // idle read connections kept open
+    private static final int READERS = 3;
+    // writes committed in the same transaction
+    private static final int MAX_GROUP = 64;
+    // seconds a caller waits for its write before giving up
+    private static final long WRITE_TIMEOUT = 60L;
+
     private String url;
 
-    private Connection connection;
+    private final BlockingQueue<Write> writes = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Connection> readers = new ArrayBlockingQueue<>(READERS);
+    // only used by the writer thread
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private Connection writeConnection;
+    private Thread writer;
+    // false once the writer thread stopped taking writes
+    private volatile boolean running = false;
+    private volatile boolean closed = false;
+    // ON CONFLICT DO UPDATE needs SQLite 3.24
+    private volatile boolean upsert = false;
 
     public SQLite() {
         File folder = new File(BedWars.plugin.getDataFolder() + "/Cache");
@@ -60,22 +90,20 @@ public class SQLite implements Database {
         this.url = "jdbc:sqlite:" + dataFolder;
         try {
             Class.forName("org.sqlite.JDBC");
-            DriverManager.getConnection(url);
-        } catch (SQLException | ClassNotFoundException e) {
-            if (e instanceof ClassNotFoundException) {
-                BedWars.plugin.getLogger().severe("Could Not Found SQLite Driver on your system!");
-            }
+        } catch (ClassNotFoundException e) {
+            BedWars.plugin.getLogger().severe("Could Not Found SQLite Driver on your system!");
             e.printStackTrace();
         }
+        writer = new Thread(this::writeLoop, "BedWars1058-SQLite-Writer");
+        writer.setDaemon(true);
+        running = true;
+        writer.start();
     }
 
     @Override
-    public void init() {
-        String sql;
-        try {
-            checkConnection();
-
-            sql = "CREATE TABLE IF NOT EXISTS global_stats (id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+    public boolean init() {
+        return write(connection -> {
+            String sql = "CREATE TABLE IF NOT EXISTS global_stats (id INTEGER PRIMARY KEY AUTOINCREMENT, " +
                     "name VARCHAR(200), uuid VARCHAR(36), first_play TIMESTAMP NULL DEFAULT NULL, " +
                     "last_play TIMESTAMP DEFAULT NULL, wins INTEGER(10), kills INTEGER(10), " +
                     "final_kills INTEGER(10), looses INTEGER(10), deaths INTEGER(10), final_deaths INTEGER(10), beds_destroyed INTEGER(10), games_played INTEGER(10));";
@@ -99,23 +127,23 @@ public class SQLite implements Database {
                         "iso VARCHAR(200));";
                 st.executeUpdate(sql);
             }
-        }catch (SQLException e) {
-            e.printStackTrace();
-        }
+            new SchemaMigrator(SchemaMigrator.Dialect.SQLITE).migrate(connection);
+            upsert = supportsUpsert(connection);
+        });
     }
 
     @Override
     public boolean hasStats(UUID uuid) {
         String sql = "SELECT uuid FROM global_stats WHERE uuid = ?;";
         try {
-            checkConnection();
-
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    return result.next();
+            return read(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, uuid.toString());
+                    try (ResultSet result = statement.executeQuery()) {
+                        return result.next();
+                    }
                 }
-            }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -124,363 +152,585 @@ public class SQLite implements Database {
 
     @Override
     public void saveStats(PlayerStats stats) {
-        String sql;
-        try {
-            checkConnection();
+        saveStats(Collections.singletonList(stats));
+    }
 
-            if (hasStats(stats.getUuid())) {
-                sql = "UPDATE global_stats SET last_play=?, wins=?, kills=?, final_kills=?, looses=?, deaths=?, final_deaths=?, beds_destroyed=?, games_played=?, name=? WHERE uuid = ?;";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setTimestamp(1, Timestamp.from(stats.getLastPlay()));
-                    statement.setInt(2, stats.getWins());
-                    statement.setInt(3, stats.getKills());
-                    statement.setInt(4, stats.getFinalKills());
-                    statement.setInt(5, stats.getLosses());
-                    statement.setInt(6, stats.getDeaths());
-                    statement.setInt(7, stats.getFinalDeaths());
-                    statement.setInt(8, stats.getBedsDestroyed());
-                    statement.setInt(9, stats.getGamesPlayed());
-                    statement.setString(10, stats.getName());
-                    statement.setString(11, stats.getUuid().toString());
-                    statement.executeUpdate();
-                }
-            } else {
-                sql = "INSERT INTO global_stats (name, uuid, first_play, last_play, wins, kills, final_kills, looses, deaths, final_deaths, beds_destroyed, games_played) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setString(1, stats.getName());
-                    statement.setString(2, stats.getUuid().toString());
-                    statement.setTimestamp(3, Timestamp.from(stats.getFirstPlay()));
-                    statement.setTimestamp(4, Timestamp.from(stats.getLastPlay()));
-                    statement.setInt(5, stats.getWins());
-                    statement.setInt(6, stats.getKills());
-                    statement.setInt(7, stats.getFinalKills());
-                    statement.setInt(8, stats.getLosses());
-                    statement.setInt(9, stats.getDeaths());
-                    statement.setInt(10, stats.getFinalDeaths());
-                    statement.setInt(11, stats.getBedsDestroyed());
-                    statement.setInt(12, stats.getGamesPlayed());
-                    statement.executeUpdate();
-                }
+    @Override
+    public void saveStats(List<PlayerStats> stats) {
+        if (stats.isEmpty()) return;
+        write(connection -> writeStats(stats));
+    }
+
+    @Override
+    public boolean saveAll(PlayerDataBatch batch) {
+        if (batch.isEmpty()) return true;
+        // a single write is a single savepoint, so the batch is saved completely or not at all
+        return write(connection -> {
+            if (!batch.getStats().isEmpty()) {
+                writeStats(batch.getStats());
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            for (PlayerDataBatch.LevelData entry : batch.getLevels()) {
+                writeLevel(entry.getUuid(), entry.getLevel(), entry.getXp(), entry.getDisplayName(), entry.getNextCost());
+            }
+            for (Map.Entry<UUID, Map<Integer, String>> entry : batch.getQuickBuy().entrySet()) {
+                writeQuickBuy(entry.getKey(), QuickBuyLayout.encode(entry.getValue()));
+            }
+        });
+    }
+
+    private void writeStats(List<PlayerStats> stats) throws SQLException {
+        if (upsert) {
+            PreparedStatement statement = prepare("INSERT INTO global_stats (name, uuid, first_play, last_play, wins, kills, final_kills, looses, deaths, final_deaths, beds_destroyed, games_played) " +
+                    "VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT(uuid) DO UPDATE SET last_play=excluded.last_play, wins=excluded.wins, " +
+                    "kills=excluded.kills, final_kills=excluded.final_kills, looses=excluded.looses, deaths=excluded.deaths, final_deaths=excluded.final_deaths, " +
+                    "beds_destroyed=excluded.beds_destroyed, games_played=excluded.games_played, name=excluded.name;");
+            for (PlayerStats entry : stats) {
+                setInsertParameters(statement, entry);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            return;
         }
+        List<PlayerStats> missing = new ArrayList<>();
+        PreparedStatement statement = prepare("UPDATE global_stats SET last_play=?, wins=?, kills=?, final_kills=?, looses=?, deaths=?, final_deaths=?, beds_destroyed=?, games_played=?, name=? WHERE uuid = ?;");
+        for (PlayerStats entry : stats) {
+            statement.setTimestamp(1, entry.getLastPlay() != null ? Timestamp.from(entry.getLastPlay()) : null);
+            statement.setInt(2, entry.getWins());
+            statement.setInt(3, entry.getKills());
+            statement.setInt(4, entry.getFinalKills());
+            statement.setInt(5, entry.getLosses());
+            statement.setInt(6, entry.getDeaths());
+            statement.setInt(7, entry.getFinalDeaths());
+            statement.setInt(8, entry.getBedsDestroyed());
+            statement.setInt(9, entry.getGamesPlayed());
+            statement.setString(10, entry.getName());
+            statement.setString(11, entry.getUuid().toString());
+            statement.addBatch();
+        }
+        int[] updated = statement.executeBatch();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(stats.get(i));
+            }
+        }
+        if (missing.isEmpty()) return;
+        statement = prepare("INSERT INTO global_stats (name, uuid, first_play, last_play, wins, kills, final_kills, looses, deaths, final_deaths, beds_destroyed, games_played) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);");
+        for (PlayerStats entry : missing) {
+            setInsertParameters(statement, entry);
+            statement.addBatch();
+        }
+        statement.executeBatch();
+    }
+
+    private static void setInsertParameters(PreparedStatement statement, PlayerStats entry) throws SQLException {
+        statement.setString(1, entry.getName());
+        statement.setString(2, entry.getUuid().toString());
+        statement.setTimestamp(3, entry.getFirstPlay() != null ? Timestamp.from(entry.getFirstPlay()) : null);
+        statement.setTimestamp(4, entry.getLastPlay() != null ? Timestamp.from(entry.getLastPlay()) : null);
+        statement.setInt(5, entry.getWins());
+        statement.setInt(6, entry.getKills());
+        statement.setInt(7, entry.getFinalKills());
+        statement.setInt(8, entry.getLosses());
+        statement.setInt(9, entry.getDeaths());
+        statement.setInt(10, entry.getFinalDeaths());
+        statement.setInt(11, entry.getBedsDestroyed());
+        statement.setInt(12, entry.getGamesPlayed());
     }
 
     @Override
     public PlayerStats fetchStats(UUID uuid) {
+        try {
+            return read(connection -> loadStats(connection, uuid));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new PlayerStats(uuid);
+    }
+
+    private PlayerStats loadStats(Connection connection, UUID uuid) throws SQLException {
         PlayerStats stats = new PlayerStats(uuid);
         String sql = "SELECT * FROM global_stats WHERE uuid = ?;";
-        try {
-            checkConnection();
-
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        stats.setFirstPlay(result.getTimestamp("first_play").toInstant());
-                        stats.setLastPlay(result.getTimestamp("last_play").toInstant());
-                        stats.setWins(result.getInt("wins"));
-                        stats.setKills(result.getInt("kills"));
-                        stats.setFinalKills(result.getInt("final_kills"));
-                        stats.setLosses(result.getInt("looses"));
-                        stats.setDeaths(result.getInt("deaths"));
-                        stats.setFinalDeaths(result.getInt("final_deaths"));
-                        stats.setBedsDestroyed(result.getInt("beds_destroyed"));
-                        stats.setGamesPlayed(result.getInt("games_played"));
-                    }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    stats.setFirstPlay(result.getTimestamp("first_play").toInstant());
+                    stats.setLastPlay(result.getTimestamp("last_play").toInstant());
+                    stats.setWins(result.getInt("wins"));
+                    stats.setKills(result.getInt("kills"));
+                    stats.setFinalKills(result.getInt("final_kills"));
+                    stats.setLosses(result.getInt("looses"));
+                    stats.setDeaths(result.getInt("deaths"));
+                    stats.setFinalDeaths(result.getInt("final_deaths"));
+                    stats.setBedsDestroyed(result.getInt("beds_destroyed"));
+                    stats.setGamesPlayed(result.getInt("games_played"));
                 }
             }
+        }
+        return stats;
+    }
+
+    @Override
+    public PlayerProfile fetchProfile(UUID uuid) {
+        try {
+            return read(connection -> {
+                PlayerStats stats = loadStats(connection, uuid);
+                Object[] levelData = loadLevelData(connection, uuid);
+                return new PlayerProfile(uuid, stats, loadLanguage(connection, uuid), (Integer) levelData[0], (Integer) levelData[1],
+                        loadQuickBuy(connection, uuid));
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return stats;
+        return null;
     }
 
     @Override
-    public void setQuickBuySlot(UUID p, String shopPath, int slot) {
+    public int getColumn(UUID player, String column) {
+        String sql = "SELECT ? FROM global_stats WHERE uuid = ?;";
         try {
-            checkConnection();
-
-            try (PreparedStatement statement = connection.prepareStatement("SELECT uuid FROM quick_buy_2 WHERE uuid = ?;")) {
-                statement.setString(1, p.toString());
-                try (ResultSet rs = statement.executeQuery()) {
-                    if (!rs.next()) {
-                        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO quick_buy_2 (uuid, slot_19, slot_20, slot_21, slot_22, slot_23, slot_24, slot_25, slot_28, slot_29, slot_30, slot_31, slot_32, slot_33, slot_34, slot_37, slot_38, slot_39, slot_40, slot_41, slot_42, slot_43) VALUES(?,' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ',' ');")) {
-                            ps.setString(1, p.toString());
-                            ps.execute();
+            return read(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, column);
+                    statement.setString(2, player.toString());
+                    try (ResultSet result = statement.executeQuery()) {
+                        if (result.next()) {
+                            return result.getInt(column);
                         }
                     }
-                    BedWars.debug("UPDATE SET SLOT " + slot + " identifier " + shopPath);
-                    try (PreparedStatement ps = connection.prepareStatement("UPDATE quick_buy_2 SET slot_" + slot + " = ? WHERE uuid = ?;")) {
-                        ps.setString(1, shopPath);
-                        ps.setString(2, p.toString());
-                        ps.executeUpdate();
-                    }
                 }
-            }
-        } catch (Exception ex) {
+                return 0;
+            });
+        } catch (SQLException ex) {
             ex.printStackTrace();
         }
+        return 0;
     }
 
     @Override
-    public String getQuickBuySlots(UUID p, int slot) {
-        String result = "";
+    public Object[] getLevelData(UUID player) {
         try {
-            checkConnection();
+            return read(connection -> loadLevelData(connection, player));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new Object[]{1, 0, "", 0};
+    }
 
-            try (PreparedStatement ps = connection.prepareStatement("SELECT slot_" + slot + " FROM quick_buy_2 WHERE uuid = ?;")) {
-                ps.setString(1, p.toString());
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        result = rs.getString("slot_" + slot);
-                    }
+    private Object[] loadLevelData(Connection connection, UUID player) throws SQLException {
+        Object[] r = new Object[]{1, 0, "", 0};
+        try (PreparedStatement ps = connection.prepareStatement("SELECT level, xp, name, next_cost FROM player_levels WHERE uuid = ?;")) {
+            ps.setString(1, player.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    r[0] = rs.getInt("level");
+                    r[1] = rs.getInt("xp");
+                    r[2] = rs.getString("name");
+                    r[3] = rs.getInt("next_cost");
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        return result;
+        return r;
     }
 
     @Override
-    public boolean hasQuickBuy(UUID uuid) {
-        try {
-            checkConnection();
+    public void setLevelData(UUID player, int level, int xp, String displayName, int nextCost) {
+        write(connection -> writeLevel(player, level, xp, displayName, nextCost));
+    }
 
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rs = statement.executeQuery("SELECT uuid FROM quick_buy_2 WHERE uuid = '" + uuid.toString() + "';")) {
-                    if (rs.next()) {
-                        rs.close();
-                        return true;
-                    }
-                }
+    private void writeLevel(UUID player, int level, int xp, String displayName, int nextCost) throws SQLException {
+        if (upsert) {
+            PreparedStatement ps = prepare("INSERT INTO player_levels (uuid, level, xp, name, next_cost) VALUES (?, ?, ?, ?, ?) " +
+                    "ON CONFLICT(uuid) DO UPDATE SET level=excluded.level, xp=excluded.xp" +
+                    (displayName == null ? ";" : ", name=excluded.name, next_cost=excluded.next_cost;"));
+            ps.setString(1, player.toString());
+            ps.setInt(2, level);
+            ps.setInt(3, xp);
+            ps.setString(4, displayName);
+            ps.setInt(5, nextCost);
+            ps.executeUpdate();
+            return;
+        }
+        PreparedStatement pss = prepare("SELECT uuid from player_levels WHERE uuid = ?;");
+        pss.setString(1, player.toString());
+        boolean exists;
+        try (ResultSet rs = pss.executeQuery()) {
+            exists = rs.next();
+        }
+        if (!exists) {
+            PreparedStatement ps = prepare("INSERT INTO player_levels (uuid, level, xp, name, next_cost) VALUES (?, ?, ?, ?, ?);");
+            ps.setString(1, player.toString());
+            ps.setInt(2, level);
+            ps.setInt(3, xp);
+            ps.setString(4, displayName);
+            ps.setInt(5, nextCost);
+            ps.executeUpdate();
+        } else if (displayName == null) {
+            PreparedStatement ps = prepare("UPDATE player_levels SET level=?, xp=? WHERE uuid = ?;");
+            ps.setInt(1, level);
+            ps.setInt(2, xp);
+            ps.setString(3, player.toString());
+            ps.executeUpdate();
+        } else {
+            PreparedStatement ps = prepare("UPDATE player_levels SET level=?, xp=?, name=?, next_cost=? WHERE uuid = ?;");
+            ps.setInt(1, level);
+            ps.setInt(2, xp);
+            ps.setString(3, displayName);
+            ps.setInt(4, nextCost);
+            ps.setString(5, player.toString());
+            ps.executeUpdate();
+        }
+    }
+
+    @Override
+    public void setLanguage(UUID player, String iso) {
+        write(connection -> {
+            if (upsert) {
+                PreparedStatement ps = prepare("INSERT INTO player_language (uuid, iso) VALUES (?, ?) ON CONFLICT(uuid) DO UPDATE SET iso=excluded.iso;");
+                ps.setString(1, player.toString());
+                ps.setString(2, iso);
+                ps.executeUpdate();
+                return;
+            }
+            PreparedStatement ps = prepare("UPDATE player_language SET iso=? WHERE uuid = ?;");
+            ps.setString(1, iso);
+            ps.setString(2, player.toString());
+            if (ps.executeUpdate() == 0) {
+                ps = prepare("INSERT INTO player_language (uuid, iso) VALUES (?, ?);");
+                ps.setString(1, player.toString());
+                ps.setString(2, iso);
+                ps.execute();
             }
+        });
+    }
+
+    @Override
+    public String getLanguage(UUID player) {
+        try {
+            return read(connection -> loadLanguage(connection, player));
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return false;
+        return Language.getDefaultLanguage().getIso();
     }
 
-    @Override
-    public int getColumn(UUID player, String column) {
-        String sql = "SELECT ? FROM global_stats WHERE uuid = ?;";
-        try {
-            checkConnection();
-
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, column);
-                statement.setString(2, player.toString());
-                try (ResultSet result = statement.executeQuery()) {
-                    if (result.next()) {
-                        return result.getInt(column);
-                    }
+    private String loadLanguage(Connection connection, UUID player) throws SQLException {
+        String iso = Language.getDefaultLanguage().getIso();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT iso FROM player_language WHERE uuid = ?;")) {
+            ps.setString(1, player.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    iso = rs.getString("iso");
                 }
             }
         }
-        catch (SQLException ex) {
-            ex.printStackTrace();
-            return 0;
-        }
-        return 0;
+        return iso;
     }
 
+    /**
+     * @return null if the player has no quick buy saved.
+     */
     @Override
-    public Object[] getLevelData(UUID player) {
-        Object[] r = new Object[]{1, 0, "", 0};
-        try {
-            checkConnection();
+    public Map<Integer, String> getQuickBuy(UUID uuid) throws SQLException {
+        return read(connection -> loadQuickBuy(connection, uuid));
+    }
 
-            try (PreparedStatement ps = connection.prepareStatement("SELECT level, xp, name, next_cost FROM player_levels WHERE uuid = ?;")) {
-                ps.setString(1, player.toString());
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        r[0] = rs.getInt("level");
-                        r[1] = rs.getInt("xp");
-                        r[2] = rs.getString("name");
-                        r[3] = rs.getInt("next_cost");
-                    }
+    private Map<Integer, String> loadQuickBuy(Connection connection, UUID uuid) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT layout FROM quick_buy_layout WHERE uuid = ?;")) {
+            ps.setString(1, uuid.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return QuickBuyLayout.decode(rs.getBytes(1));
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        return r;
+        return null;
     }
 
     @Override
-    public void setLevelData(UUID player, int level, int xp, String displayName, int nextCost) {
+    public void saveQuickBuy(UUID uuid, Map<Integer, String> layout) {
+        byte[] data = QuickBuyLayout.encode(layout);
+        write(connection -> writeQuickBuy(uuid, data));
+    }
+
+    private void writeQuickBuy(UUID uuid, byte[] data) throws SQLException {
+        if (upsert) {
+            PreparedStatement ps = prepare("INSERT INTO quick_buy_layout (uuid, layout) VALUES (?, ?) ON CONFLICT(uuid) DO UPDATE SET layout=excluded.layout;");
+            ps.setString(1, uuid.toString());
+            ps.setBytes(2, data);
+            ps.executeUpdate();
+            return;
+        }
+        PreparedStatement ps = prepare("UPDATE quick_buy_layout SET layout=? WHERE uuid = ?;");
+        ps.setBytes(1, data);
+        ps.setString(2, uuid.toString());
+        if (ps.executeUpdate() == 0) {
+            ps = prepare("INSERT INTO quick_buy_layout (uuid, layout) VALUES (?, ?);");
+            ps.setString(1, uuid.toString());
+            ps.setBytes(2, data);
+            ps.execute();
+        }
+    }
+
+    @Override
+    public List<LeaderboardEntry> fetchLeaderboard(LeaderboardService.Statistic statistic, int limit) {
+        String sql = statistic == LeaderboardService.Statistic.LEVEL ?
+                "SELECT l.uuid, s.name, l.level FROM player_levels l LEFT JOIN global_stats s ON s.uuid = l.uuid ORDER BY l.level DESC, l.xp DESC LIMIT ?;" :
+                "SELECT uuid, name, " + statistic.getColumn() + " FROM global_stats ORDER BY " + statistic.getColumn() + " DESC LIMIT ?;";
         try {
-            checkConnection();
-
-            try (PreparedStatement pss = connection.prepareStatement("SELECT uuid from player_levels WHERE uuid = ?;")) {
-                pss.setString(1, player.toString());
-                try (ResultSet rs = pss.executeQuery()) {
-                    if (!rs.next()) {
-                        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO player_levels (uuid, level, xp, name, next_cost) VALUES (?, ?, ?, ?, ?);")) {
-                            //ps.setInt(1, 0);
-                            ps.setString(1, player.toString());
-                            ps.setInt(2, level);
-                            ps.setInt(3, xp);
-                            ps.setString(4, displayName);
-                            ps.setInt(5, nextCost);
-                            ps.executeUpdate();
-                        }
-                    } else {
-                        try (PreparedStatement ps = displayName == null ? connection.prepareStatement("UPDATE player_levels SET level=?, xp=? WHERE uuid = '" + player.toString() + "';") : connection.prepareStatement("UPDATE player_levels SET level=?, xp=?, name=?, next_cost=? WHERE uuid = '" + player.toString() + "';")) {
-                            ps.setInt(1, level);
-                            ps.setInt(2, xp);
-                            if (displayName != null) {
-                                ps.setString(3, displayName);
-                                ps.setInt(4, nextCost);
-                            }
-                            ps.executeUpdate();
-                        }
+            return read(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setInt(1, limit);
+                    try (ResultSet result = statement.executeQuery()) {
+                        return LeaderboardEntry.readAll(result);
                     }
                 }
-            }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return null;
     }
 
     @Override
-    public void setLanguage(UUID player, String iso) {
+    public void close() {
+        if (closed || writer == null) return;
+        closed = true;
+        // let the writer commit what is still queued
+        writes.add(Write.STOP);
         try {
-            checkConnection();
+            writer.join(10_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Connection connection;
+        while ((connection = readers.poll()) != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
 
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rs = statement.executeQuery("SELECT iso FROM player_language WHERE uuid = '" + player.toString() + "';")) {
-                    if (rs.next()) {
-                        try (Statement st = connection.createStatement()) {
-                            st.executeUpdate("UPDATE player_language SET iso='" + iso + "' WHERE uuid = '" + player.toString() + "';");
-                        }
-                    } else {
-                        try (PreparedStatement st = connection.prepareStatement("INSERT INTO player_language (uuid, iso) VALUES (?, ?);")) {
-                            st.setString(1, player.toString());
-                            st.setString(2, iso);
-                            st.execute();
-                        }
-                    }
-                }
+    private static boolean supportsUpsert(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet result = statement.executeQuery("SELECT sqlite_version();")) {
+                if (!result.next()) return false;
+                String[] version = result.getString(1).split("\\.");
+                int major = Integer.parseInt(version[0]);
+                int minor = version.length > 1 ? Integer.parseInt(version[1]) : 0;
+                return major > 3 || (major == 3 && minor >= 24);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
     }
 
-    @Override
-    public String getLanguage(UUID player) {
-        String iso = Language.getDefaultLanguage().getIso();
+    /**
+     * Run a query on a read-only connection.
+     */
+    private <T> T read(Query<T> query) throws SQLException {
+        Connection connection = readers.poll();
+        if (connection == null || connection.isClosed()) {
+            connection = openConnection(true);
+        }
         try {
-            checkConnection();
-
-            try (PreparedStatement ps = connection.prepareStatement("SELECT iso FROM player_language WHERE uuid = ?;")) {
-                ps.setString(1, player.toString());
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        iso = rs.getString("iso");
-                    }
-                }
+            return query.run(connection);
+        } finally {
+            // keep a few connections for later, close the rest
+            if (closed || !readers.offer(connection)) {
+                connection.close();
             }
+        }
+    }
+
+    /**
+     * Queue a write and wait for its transaction to be committed.
+     *
+     * @return false if the write failed.
+     */
+    private boolean write(Update update) {
+        if (closed || writer == null) {
+            BedWars.plugin.getLogger().warning("Tried to write to SQLite after it was closed.");
+            return false;
+        }
+        try {
+            RetryPolicy.WRITES.run(() -> submit(update));
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
-        return iso;
     }
 
-    @Override
-    public void pushQuickBuyChanges(HashMap<Integer, String> updateSlots, UUID uuid, List<QuickBuyElement> elements) {
-        if (updateSlots.isEmpty()) return;
-        boolean hasQuick;
-        if (!(hasQuick = hasQuickBuy(uuid))) {
-            for (QuickBuyElement element : elements) {
-                if (!updateSlots.containsKey(element.getSlot())) {
-                    updateSlots.put(element.getSlot(), element.getCategoryContent().getIdentifier());
-                }
+    private void submit(Update update) throws SQLException {
+        if (!running) {
+            throw new SQLException("The SQLite writer is not running.");
+        }
+        Write write = new Write(update);
+        writes.add(write);
+        // the writer may have stopped after the check above
+        if (!running && writes.remove(write)) {
+            throw new SQLException("The SQLite writer is not running.");
+        }
+        try {
+            write.done.get(WRITE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new SQLException("Timed out waiting for a SQLite write.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a write", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
             }
+            throw new SQLException(e.getCause());
         }
-        StringBuilder columns = new StringBuilder();
-        StringBuilder values = new StringBuilder();
-        int i = 0;
-        if (hasQuick) {
-            for (Map.Entry<Integer, String> entry : updateSlots.entrySet()) {
-                i++;
-                columns.append("slot_").append(entry.getKey()).append("=?");
-                if (i != updateSlots.size()) {
-                    columns.append(", ");
-                }
+    }
+
+    private void writeLoop() {
+        List<Write> group = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                group.add(writes.take());
+            } catch (InterruptedException e) {
+                break;
             }
-        } else {
-            for (Map.Entry<Integer, String> entry : updateSlots.entrySet()) {
-                i++;
-                columns.append("slot_").append(entry.getKey());
-                values.append("?");
-                if (i != updateSlots.size()) {
-                    columns.append(", ");
-                    values.append(", ");
+            // group whatever is already waiting
+            writes.drainTo(group, MAX_GROUP - 1);
+            int index = group.indexOf(Write.STOP);
+            if (index != -1) {
+                stop = true;
+                group.remove(index);
+                writes.drainTo(group);
+            }
+            if (!group.isEmpty()) {
+                try {
+                    commit(group);
+                } catch (Throwable t) {
+                    // never leave callers waiting, already completed writes are not affected
+                    BedWars.plugin.getLogger().severe("SQLite writer failed: " + t);
+                    group.forEach(write -> write.done.completeExceptionally(t));
                 }
             }
+            group.clear();
         }
-        String sql = hasQuick ? "UPDATE quick_buy_2 SET " + columns + " WHERE uuid=?;" : "INSERT INTO quick_buy_2 (uuid," + columns + ") VALUES (?," + values + ");";
-        try {
-            checkConnection();
-
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                int index = hasQuick ? 0 : 1;
-                for (int key : updateSlots.keySet()) {
-                    index++;
-                    String identifier = updateSlots.get(key);
-                    ps.setString(index, identifier.trim().isEmpty() ? null : identifier);
-                }
-                ps.setString(hasQuick ? updateSlots.size()+1 : 1, uuid.toString());
-                ps.execute();
+        running = false;
+        Write left;
+        while ((left = writes.poll()) != null) {
+            left.done.completeExceptionally(new SQLException("The SQLite writer is not running."));
+        }
+        statements.values().forEach(statement -> {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        });
+        statements.clear();
+        if (writeConnection != null) {
+            try {
+                writeConnection.close();
+            } catch (SQLException ignored) {
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
     }
 
-    @Override
-    public HashMap<Integer, String> getQuickBuySlots(UUID uuid, int[] slot) {
-        HashMap<Integer, String> results = new HashMap<>();
-        if (slot.length == 0) {
-            return results;
-        }
+    /**
+     * Run the given writes in a single transaction.
+     * A failing write is rolled back to its savepoint without affecting the others.
+     */
+    private void commit(List<Write> group) {
+        List<SQLException> errors = new ArrayList<>(group.size());
         try {
-            checkConnection();
-
-            try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM quick_buy_2 WHERE uuid = ?;")) {
-                ps.setString(1, uuid.toString());
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        for (int i : slot) {
-                            String id = rs.getString("slot_" + i);
-                            if (null != id && !id.isEmpty()) {
-                                results.put(i, id);
-                            }
-                        }
+            Connection connection = getWriteConnection();
+            connection.setAutoCommit(false);
+            try {
+                for (Write write : group) {
+                    prepare("SAVEPOINT write;").execute();
+                    try {
+                        write.update.run(connection);
+                        errors.add(null);
+                    } catch (SQLException e) {
+                        prepare("ROLLBACK TO write;").execute();
+                        errors.add(e);
+                    } catch (RuntimeException e) {
+                        prepare("ROLLBACK TO write;").execute();
+                        errors.add(new SQLException(e));
                     }
+                    prepare("RELEASE write;").execute();
                 }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            group.forEach(write -> write.done.completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            if (errors.get(i) == null) {
+                group.get(i).done.complete(null);
+            } else {
+                group.get(i).done.completeExceptionally(errors.get(i));
+            }
+        }
+    }
+
+    /**
+     * Get a cached statement for the writer connection.
+     */
+    private PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = getWriteConnection().prepareStatement(sql);
+            statements.put(sql, statement);
         }
-        return results;
+        return statement;
     }
 
-    private void checkConnection() throws SQLException {
-        boolean renew = false;
+    private Connection getWriteConnection() throws SQLException {
+        if (writeConnection == null || writeConnection.isClosed()) {
+            // cached statements belong to the old connection
+            statements.clear();
+            writeConnection = openConnection(false);
+        }
+        return writeConnection;
+    }
+
+    private Connection openConnection(boolean readOnly) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            if (!readOnly) {
+                // lets readers work while the writer is committing
+                statement.execute("PRAGMA journal_mode=WAL;");
+            }
+            statement.execute("PRAGMA synchronous=NORMAL;");
+            statement.execute("PRAGMA busy_timeout=5000;");
+            if (readOnly) {
+                statement.execute("PRAGMA query_only=ON;");
+            }
+        }
+        return connection;
+    }
 
-        if (this.connection == null)
-            renew = true;
-        else
-            if (this.connection.isClosed())
-                renew = true;
+    private interface Query<T> {
+        T run(Connection connection) throws SQLException;
+    }
 
-        if (renew)
-            this.connection = DriverManager.getConnection(url);
+    private interface Update {
+        void run(Connection connection) throws SQLException;
     }
 
-}
\ No newline at end of file
+    private static class Write {
+        private static final Write STOP = new Write(null);
+
+        private final Update update;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Write(Update update) {
+            this.update = update;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import com.andrei1058.bedwars.BedWars;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Brings the database schema to the latest version.
+ * Applied versions are recorded in the schema_version table and every step can safely run again,
+ * so an install interrupted in the middle of a migration recovers on the next start.
+ */
+public class SchemaMigrator {
+
+    public enum Dialect {MYSQL, SQLITE}
+
+    private static final int LATEST = 3;
+    // slot columns of quick_buy_2
+    private static final int[] QUICK_BUY_SLOTS = {19, 20, 21, 22, 23, 24, 25, 28, 29, 30, 31, 32, 33, 34, 37, 38, 39, 40, 41, 42, 43};
+
+    private final Dialect dialect;
+
+    public SchemaMigrator(Dialect dialect) {
+        this.dialect = dialect;
+    }
+
+    /**
+     * Apply missing migrations. Tables must already exist.
+     */
+    public void migrate(Connection connection) throws SQLException {
+        execute(connection, "CREATE TABLE IF NOT EXISTS schema_version (version INTEGER NOT NULL PRIMARY KEY, " +
+                "description VARCHAR(200), applied_at TIMESTAMP NULL DEFAULT NULL)");
+        int current = getVersion(connection);
+        for (int version = current + 1; version <= LATEST; version++) {
+            String description = apply(connection, version);
+            String sql = (dialect == Dialect.MYSQL ? "INSERT IGNORE" : "INSERT OR IGNORE") +
+                    " INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setInt(1, version);
+                statement.setString(2, description);
+                statement.setTimestamp(3, Timestamp.from(Instant.now()));
+                statement.executeUpdate();
+            }
+            BedWars.plugin.getLogger().info("Database schema migrated to version " + version + ": " + description);
+        }
+    }
+
+    /**
+     * @return 0 if no migration was applied yet.
+     */
+    public int getVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet result = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+                return result.next() ? result.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * @return migration description.
+     */
+    private String apply(Connection connection, int version) throws SQLException {
+        switch (version) {
+            case 1:
+                uniqueUuid(connection, "global_stats");
+                uniqueUuid(connection, "player_levels");
+                uniqueUuid(connection, "player_language");
+                return "unique uuid indexes";
+            case 2:
+                index(connection, "global_stats", "wins");
+                index(connection, "global_stats", "kills");
+                index(connection, "global_stats", "final_kills");
+                index(connection, "global_stats", "beds_destroyed");
+                index(connection, "player_levels", "level", "xp");
+                return "leaderboard indexes";
+            case 3:
+                quickBuyLayout(connection);
+                return "quick buy layout";
+            default:
+                throw new IllegalStateException("Unknown schema version " + version);
+        }
+    }
+
+    private void uniqueUuid(Connection connection, String table) throws SQLException {
+        String index = table + "_uuid";
+        if (dialect == Dialect.MYSQL) {
+            if (hasIndex(connection, table, index)) return;
+            // duplicates were possible while uuid was not unique, keep the newest row
+            execute(connection, "DELETE a FROM " + table + " a JOIN " + table + " b ON a.uuid = b.uuid AND a.id < b.id");
+            // VARCHAR(200) is too long for an index on older InnoDB row formats
+            execute(connection, "ALTER TABLE " + table + " MODIFY uuid VARCHAR(36)");
+            execute(connection, "CREATE UNIQUE INDEX " + index + " ON " + table + " (uuid)");
+        } else {
+            execute(connection, "DELETE FROM " + table + " WHERE id NOT IN (SELECT MAX(id) FROM " + table + " GROUP BY uuid)");
+            execute(connection, "CREATE UNIQUE INDEX IF NOT EXISTS " + index + " ON " + table + " (uuid)");
+        }
+    }
+
+    private void index(Connection connection, String table, String... columns) throws SQLException {
+        String index = table + "_" + columns[0];
+        String sql = "CREATE INDEX " + index + " ON " + table + " (" + String.join(", ", columns) + ")";
+        if (dialect == Dialect.MYSQL) {
+            if (hasIndex(connection, table, index)) return;
+            execute(connection, sql);
+        } else {
+            execute(connection, sql.replace("CREATE INDEX", "CREATE INDEX IF NOT EXISTS"));
+        }
+    }
+
+    /**
+     * Copy quick buy slot columns to a single serialised layout.
+     * The old table is kept.
+     */
+    private void quickBuyLayout(Connection connection) throws SQLException {
+        execute(connection, "CREATE TABLE IF NOT EXISTS quick_buy_layout (uuid VARCHAR(36) NOT NULL PRIMARY KEY, layout BLOB)");
+        // layouts saved by a previous attempt are newer than the columns
+        String sql = (dialect == Dialect.MYSQL ? "INSERT IGNORE" : "INSERT OR IGNORE") + " INTO quick_buy_layout (uuid, layout) VALUES (?, ?)";
+        int copied = 0;
+        try (Statement select = connection.createStatement();
+             ResultSet result = select.executeQuery("SELECT * FROM quick_buy_2");
+             PreparedStatement insert = connection.prepareStatement(sql)) {
+            while (result.next()) {
+                Map<Integer, String> layout = new TreeMap<>();
+                for (int slot : QUICK_BUY_SLOTS) {
+                    String identifier = result.getString("slot_" + slot);
+                    if (identifier != null && !identifier.trim().isEmpty()) {
+                        layout.put(slot, identifier);
+                    }
+                }
+                insert.setString(1, result.getString("uuid"));
+                insert.setBytes(2, QuickBuyLayout.encode(layout));
+                insert.addBatch();
+                if (++copied % 500 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        BedWars.plugin.getLogger().info("Converted " + copied + " quick buy layouts.");
+    }
+
+    private static boolean hasIndex(Connection connection, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet result = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (result.next()) {
+                if (index.equalsIgnoreCase(result.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.database;
+
+import com.andrei1058.bedwars.BedWars;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLNonTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only file keeping database writes that could not be executed.
+ * Every entry is synced to disk before {@link #append(List)} returns and is removed only after it was replayed.
+ * <p>
+ * Line format: timestamp followed by the entry fields, separated by tabs.
+ */
+public class WriteJournal {
+
+    // entries replayed per database round trip
+    private static final int REPLAY_CHUNK = 500;
+    private static final String NULL = "\\N";
+
+    public interface Replayer {
+        /**
+         * Write entries to the database. Must be idempotent.
+         */
+        void replay(List<String[]> entries) throws SQLException;
+    }
+
+    private final File file;
+    private final Replayer replayer;
+    private final Object fileLock = new Object();
+    private final Object replayLock = new Object();
+
+    private volatile int pending;
+    private volatile long oldest;
+
+    public WriteJournal(File file, Replayer replayer) {
+        this.file = file;
+        this.replayer = replayer;
+        synchronized (fileLock) {
+            List<String> lines = readLines();
+            updateCounters(lines);
+            if (!lines.isEmpty()) {
+                BedWars.plugin.getLogger().warning(lines.size() + " database writes are waiting in " + file.getName() + ".");
+            }
+        }
+    }
+
+    /**
+     * Save entries to disk. First field is the entry type.
+     */
+    public void append(List<String[]> entries) {
+        if (entries.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        StringBuilder data = new StringBuilder();
+        for (String[] entry : entries) {
+            data.append(now);
+            for (String field : entry) {
+                data.append('\t').append(escape(field));
+            }
+            data.append('\n');
+        }
+        synchronized (fileLock) {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                BedWars.plugin.getLogger().severe("Could not create " + parent + "!");
+            }
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                out.write(data.toString().getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            } catch (IOException e) {
+                BedWars.plugin.getLogger().severe("Could not save " + entries.size() + " database writes to " + file.getName() + "! They are lost.");
+                e.printStackTrace();
+                return;
+            }
+            if (pending == 0) {
+                oldest = now;
+                BedWars.plugin.getLogger().warning("Database is unavailable, writes are saved to " + file.getName() + " until it recovers.");
+            }
+            pending += entries.size();
+        }
+    }
+
+    /**
+     * Write entries to the database or save them if it is unavailable.
+     * Runs under the replay lock, so entries reach the database in the order they were submitted.
+     *
+     * @param writer executes the entries, the replayer is used for pending ones.
+     * @return false if the entries were saved to the journal.
+     */
+    public boolean write(List<String[]> entries, Replayer writer) {
+        if (entries.isEmpty()) return true;
+        synchronized (replayLock) {
+            // older writes must reach the database first or they would overwrite these later
+            if (pending > 0 && !replay()) {
+                append(entries);
+                return false;
+            }
+            try {
+                writer.replay(entries);
+                return true;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                append(entries);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Write pending entries to the database.
+     *
+     * @return true if the journal is empty now.
+     */
+    public boolean replay() {
+        synchronized (replayLock) {
+            while (pending > 0) {
+                List<String> lines;
+                synchronized (fileLock) {
+                    lines = readLines();
+                }
+                if (lines.isEmpty()) {
+                    return true;
+                }
+                List<String> chunk = lines.subList(0, Math.min(REPLAY_CHUNK, lines.size()));
+                List<String[]> entries = new ArrayList<>(chunk.size());
+                for (String line : chunk) {
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length < 2) continue;
+                    String[] entry = new String[fields.length - 1];
+                    for (int i = 1; i < fields.length; i++) {
+                        entry[i - 1] = unescape(fields[i]);
+                    }
+                    entries.add(entry);
+                }
+                try {
+                    replayer.replay(entries);
+                } catch (SQLException e) {
+                    if (!isPermanent(e)) {
+                        BedWars.debug("Could not replay database journal: " + e.getMessage());
+                        return false;
+                    }
+                    // find the entries that can never be written so they do not block the others
+                    for (String[] entry : entries) {
+                        try {
+                            replayer.replay(Collections.singletonList(entry));
+                        } catch (SQLException ex) {
+                            if (!isPermanent(ex)) {
+                                return false;
+                            }
+                            discard(entry, ex);
+                        }
+                    }
+                }
+                synchronized (fileLock) {
+                    // entries appended in the meantime are at the end of the file
+                    List<String> current = readLines();
+                    List<String> rest = current.subList(Math.min(chunk.size(), current.size()), current.size());
+                    if (!rewrite(rest)) {
+                        return false;
+                    }
+                    updateCounters(rest);
+                }
+                if (pending == 0) {
+                    BedWars.plugin.getLogger().info("Database journal replayed.");
+                }
+            }
+            return true;
+        }
+    }
+
+    public boolean isEmpty() {
+        return pending == 0;
+    }
+
+    /**
+     * Amount of entries waiting to be written.
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return milliseconds since the oldest pending entry was saved, 0 if there are none.
+     */
+    public long getOldestAge() {
+        return pending == 0 ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    /**
+     * Errors caused by the data instead of the connection.
+     */
+    private static boolean isPermanent(SQLException e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof SQLNonTransientException && !(cause instanceof SQLNonTransientConnectionException)) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private void discard(String[] entry, SQLException e) {
+        BedWars.plugin.getLogger().severe("Could not replay a database write, moved it to " + file.getName() + ".failed: " + e.getMessage());
+        StringBuilder line = new StringBuilder().append(System.currentTimeMillis());
+        for (String field : entry) {
+            line.append('\t').append(escape(field));
+        }
+        line.append('\n');
+        try (FileOutputStream out = new FileOutputStream(file.getPath() + ".failed", true)) {
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private void updateCounters(List<String> lines) {
+        pending = lines.size();
+        oldest = 0;
+        if (!lines.isEmpty()) {
+            String line = lines.get(0);
+            int end = line.indexOf('\t');
+            try {
+                oldest = Long.parseLong(end == -1 ? line : line.substring(0, end));
+            } catch (NumberFormatException ignored) {
+                oldest = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private List<String> readLines() {
+        if (!file.exists()) return Collections.emptyList();
+        try {
+            List<String> lines = new ArrayList<>(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+            lines.removeIf(String::isEmpty);
+            return lines;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Collections.emptyList();
+        }
+    }
+
+    private boolean rewrite(List<String> lines) {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            for (String line : lines) {
+                out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            out.getFD().sync();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    private static String escape(String field) {
+        if (field == null) return NULL;
+        return field.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String field) {
+        if (field.equals(NULL)) return null;
+        StringBuilder result = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 1 < field.length()) {
+                char next = field.charAt(++i);
+                switch (next) {
+                    case 't':
+                        result.append('\t');
+                        break;
+                    case 'n':
+                        result.append('\n');
+                        break;
+                    case 'r':
+                        result.append('\r');
+                        break;
+                    default:
+                        result.append(next);
+                }
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -39,10 +39,9 @@ public class LangListener implements Listener {
             Bukkit.getScheduler().runTaskLater(BedWars.plugin, () -> {
                 Arena.sendLobbyCommandItems(e.getPlayer());
                 SidebarService.getInstance().giveSidebar(e.getPlayer(), Arena.getArenaByPlayer(e.getPlayer()), false);
-
-                // save to db
-                Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, ()-> BedWars.getRemoteDatabase().setLanguage(e.getPlayer().getUniqueId(), e.getNewLang()));
             }, 10L);
         }
+        // save to db
+        LanguageSaver.save(e.getPlayer().getUniqueId(), e.getNewLang());
     }
 }
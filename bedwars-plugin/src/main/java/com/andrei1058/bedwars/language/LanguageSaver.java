@@ -0,0 +1,78 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.language;
+
+import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.listeners.joinhandler.ProfileLoader;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saves player language preferences to the database.
+ * Changes are collected for a short time and written off the main thread,
+ * so switching language multiple times or quitting right after results in a single write.
+ */
+public final class LanguageSaver {
+
+    // ticks to wait for other changes before writing to the database
+    private static final long SAVE_DELAY = 100L;
+
+    private static final Map<UUID, String> pending = new ConcurrentHashMap<>();
+    private static BukkitTask task;
+
+    private LanguageSaver() {
+    }
+
+    /**
+     * Schedule a language preference save.
+     * Replaces a not yet saved preference of the same player.
+     */
+    public static synchronized void save(UUID player, String iso) {
+        pending.put(player, iso);
+        ProfileLoader.getCache().update(player, profile -> profile.withLanguage(iso));
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskLaterAsynchronously(BedWars.plugin, LanguageSaver::flush, SAVE_DELAY);
+        }
+    }
+
+    /**
+     * Write pending preferences on the current thread.
+     * Called when the plugin is disabled.
+     */
+    public static void flush() {
+        synchronized (LanguageSaver.class) {
+            task = null;
+        }
+        for (UUID player : pending.keySet()) {
+            String iso = pending.remove(player);
+            if (iso == null) continue;
+            try {
+                BedWars.getRemoteDatabase().setLanguage(player, iso);
+            } catch (Exception ex) {
+                BedWars.plugin.getLogger().warning("Could not save language for " + player + ": " + ex.getMessage());
+            }
+        }
+    }
+}
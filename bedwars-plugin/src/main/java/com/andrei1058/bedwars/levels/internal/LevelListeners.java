@@ -25,11 +25,12 @@ import com.andrei1058.bedwars.api.arena.team.ITeam;
 import com.andrei1058.bedwars.api.events.gameplay.GameEndEvent;
 import com.andrei1058.bedwars.api.events.player.PlayerBedBreakEvent;
 import com.andrei1058.bedwars.api.events.player.PlayerKillEvent;
-import com.andrei1058.bedwars.api.events.player.PlayerLeaveArenaEvent;
 import com.andrei1058.bedwars.api.events.player.PlayerXpGainEvent;
 import com.andrei1058.bedwars.api.language.Language;
 import com.andrei1058.bedwars.api.language.Messages;
 import com.andrei1058.bedwars.configuration.LevelsConfig;
+import com.andrei1058.bedwars.database.PlayerProfile;
+import com.andrei1058.bedwars.listeners.joinhandler.ProfileLoader;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -52,6 +53,12 @@ public class LevelListeners implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerJoin(PlayerJoinEvent e) {
         final UUID u = e.getPlayer().getUniqueId();
+        // loaded while logging in
+        PlayerProfile profile = ProfileLoader.getProfile(u);
+        if (profile != null) {
+            new PlayerLevel(u, profile.getLevel(), profile.getLevelXp());
+            return;
+        }
         // create empty level first
         new PlayerLevel(u, 1, 0);
         Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> {
@@ -65,11 +72,8 @@ public class LevelListeners implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerQuit(PlayerQuitEvent e) {
-        final UUID u = e.getPlayer().getUniqueId();
-        Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> {
-            PlayerLevel pl = PlayerLevel.getLevelByPlayer(u);
-            pl.destroy();
-        });
+        // last write for this player, changes made since the previous level flush are saved here
+        PlayerLevel.getLevelByPlayer(e.getPlayer().getUniqueId()).destroy();
     }
 
     @EventHandler
@@ -119,15 +123,6 @@ public class LevelListeners implements Listener {
         }
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onArenaLeave(PlayerLeaveArenaEvent e) {
-        final UUID u = e.getPlayer().getUniqueId();
-        Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> {
-            PlayerLevel pl = PlayerLevel.getLevelByPlayer(u);
-            if (pl != null) pl.updateDatabase();
-        });
-    }
-
     @EventHandler
     public void onBreakBed(PlayerBedBreakEvent e) {
         Player player = e.getPlayer ();
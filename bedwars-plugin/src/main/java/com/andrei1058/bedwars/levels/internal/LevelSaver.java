@@ -0,0 +1,89 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.levels.internal;
+
+import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.database.PlayerDataBatch;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes changed player levels as a single batch,
+ * so xp rewards given during a game do not cause a database write each.
+ */
+public final class LevelSaver {
+
+    private static BukkitTask task;
+
+    private LevelSaver() {
+    }
+
+    /**
+     * @param interval ticks between two writes.
+     */
+    public static void start(long interval) {
+        stop();
+        long period = Math.max(20L, interval);
+        task = Bukkit.getScheduler().runTaskTimer(BedWars.plugin, LevelSaver::flushLater, period, period);
+    }
+
+    public static void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Collect changes on the main thread, where levels are modified, and write them off it.
+     */
+    private static void flushLater() {
+        PlayerDataBatch batch = collect();
+        if (batch.isEmpty()) return;
+        Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> write(batch));
+    }
+
+    /**
+     * Write changed levels on the current thread.
+     * Called when the plugin is disabled.
+     */
+    public static void flush() {
+        write(collect());
+    }
+
+    private static PlayerDataBatch collect() {
+        PlayerDataBatch batch = new PlayerDataBatch();
+        PlayerLevel.collectAllChanges(batch);
+        return batch;
+    }
+
+    private static void write(PlayerDataBatch batch) {
+        if (batch.isEmpty()) return;
+        long start = System.nanoTime();
+        if (BedWars.getRemoteDatabase().saveAll(batch)) {
+            BedWars.debug("Saved levels of " + batch.getPlayers() + " players in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+        } else {
+            BedWars.plugin.getLogger().warning("Could not save levels of " + batch.getPlayers() + " players.");
+        }
+    }
+}
@@ -24,6 +24,8 @@ import com.andrei1058.bedwars.BedWars;
 import com.andrei1058.bedwars.api.events.player.PlayerLevelUpEvent;
 import com.andrei1058.bedwars.api.events.player.PlayerXpGainEvent;
 import com.andrei1058.bedwars.configuration.LevelsConfig;
+import com.andrei1058.bedwars.database.PlayerDataBatch;
+import com.andrei1058.bedwars.listeners.joinhandler.ProfileLoader;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 
@@ -256,8 +258,31 @@ public class PlayerLevel {
 
     public void updateDatabase() {
         if (modified) {
+            int savedLevel = level, savedXp = currentXp;
+            ProfileLoader.getCache().update(uuid, profile -> profile.withLevel(savedLevel, savedXp));
             Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> BedWars.getRemoteDatabase().setLevelData(uuid, level, currentXp, LevelsConfig.getLevelName(level), nextLevelCost));
             modified = false;
         }
     }
+
+    /**
+     * Add unsaved level changes of a player to a batch instead of writing them separately.
+     */
+    public static void collectChanges(UUID player, PlayerDataBatch batch) {
+        PlayerLevel playerLevel = levelByPlayer.get(player);
+        if (playerLevel == null || !playerLevel.modified) return;
+        int savedLevel = playerLevel.level, savedXp = playerLevel.currentXp;
+        ProfileLoader.getCache().update(player, profile -> profile.withLevel(savedLevel, savedXp));
+        batch.addLevel(player, savedLevel, savedXp, LevelsConfig.getLevelName(savedLevel), playerLevel.nextLevelCost);
+        playerLevel.modified = false;
+    }
+
+    /**
+     * Add unsaved level changes of every cached player to a batch.
+     */
+    public static void collectAllChanges(PlayerDataBatch batch) {
+        for (UUID player : levelByPlayer.keySet()) {
+            collectChanges(player, batch);
+        }
+    }
 }
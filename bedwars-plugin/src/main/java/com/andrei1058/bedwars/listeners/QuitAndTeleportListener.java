@@ -30,8 +30,8 @@ import com.andrei1058.bedwars.arena.LastHit;
 import com.andrei1058.bedwars.arena.SetupSession;
 import com.andrei1058.bedwars.arena.team.BedWarsTeam;
 import com.andrei1058.bedwars.commands.bedwars.subcmds.regular.CmdStats;
+import com.andrei1058.bedwars.language.LanguageSaver;
 import com.andrei1058.bedwars.sidebar.SidebarService;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -40,8 +40,6 @@ import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.UUID;
-
 import static com.andrei1058.bedwars.BedWars.*;
 
 public class QuitAndTeleportListener implements Listener {
@@ -60,17 +58,14 @@ public class QuitAndTeleportListener implements Listener {
         }
 
         //Save preferred language
-        if (Language.getLangByPlayer().containsKey(p.getUniqueId())) {
-            final UUID u = p.getUniqueId();
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                String iso = Language.getLangByPlayer().get(p.getUniqueId()).getIso();
-                if (Language.isLanguageExist(iso)) {
-                    if (BedWars.config.getYml().getStringList(ConfigPath.GENERAL_CONFIGURATION_DISABLED_LANGUAGES).contains(iso))
-                        iso = Language.getDefaultLanguage().getIso();
-                    BedWars.getRemoteDatabase().setLanguage(u, iso);
-                }
-                Language.getLangByPlayer().remove(p.getUniqueId());
-            });
+        Language playerLang = Language.getLangByPlayer().remove(p.getUniqueId());
+        if (playerLang != null) {
+            String iso = playerLang.getIso();
+            if (Language.isLanguageExist(iso)) {
+                if (BedWars.config.getYml().getStringList(ConfigPath.GENERAL_CONFIGURATION_DISABLED_LANGUAGES).contains(iso))
+                    iso = Language.getDefaultLanguage().getIso();
+                LanguageSaver.save(p.getUniqueId(), iso);
+            }
         }
 
         if (getServerType() != ServerType.SHARED) {
@@ -22,6 +22,7 @@ package com.andrei1058.bedwars.listeners.joinhandler;
 
 import com.andrei1058.bedwars.BedWars;
 import com.andrei1058.bedwars.api.language.Language;
+import com.andrei1058.bedwars.database.PlayerProfile;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -51,7 +52,10 @@ public class JoinHandlerCommon implements Listener {
 
     @EventHandler
     public void requestLanguage(AsyncPlayerPreLoginEvent e) {
-        String iso = BedWars.getRemoteDatabase().getLanguage(e.getUniqueId());
+        // loaded by the profile loader
+        PlayerProfile profile = ProfileLoader.getProfile(e.getUniqueId());
+        if (profile == null) return;
+        String iso = profile.getLanguage();
         Bukkit.getScheduler().runTask(plugin, () -> Language.setPlayerLanguage(e.getUniqueId(), iso));
     }
 
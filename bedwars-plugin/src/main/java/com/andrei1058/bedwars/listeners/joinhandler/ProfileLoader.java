@@ -0,0 +1,123 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.listeners.joinhandler;
+
+import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.api.configuration.ConfigPath;
+import com.andrei1058.bedwars.database.PlayerProfile;
+import com.andrei1058.bedwars.database.ProfileCache;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Loads player data from the database while the player is logging in,
+ * so join handlers do not have to query the database.
+ * Profiles stay cached for a short time after quitting, so a quick rejoin skips the database.
+ */
+public class ProfileLoader implements Listener {
+
+    private static ProfileCache cache = new ProfileCache(0, 1);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "BedWars1058-ProfileLoader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProfileLoader() {
+        cache = new ProfileCache(BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_PROFILE_CACHE_TTL) * 1000L,
+                BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_PROFILE_CACHE_SIZE));
+    }
+
+    @EventHandler(priority = EventPriority.LOW)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent e) {
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        final UUID uuid = e.getUniqueId();
+
+        PlayerProfile profile = cache.load(uuid);
+        if (profile != null) {
+            BedWars.debug("Using cached profile for " + e.getName());
+            profile.getStats().setName(e.getName());
+            return;
+        }
+
+        long timeout = BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_PROFILE_LOAD_TIMEOUT);
+        Future<PlayerProfile> future = executor.submit(() -> BedWars.getRemoteDatabase().fetchProfile(uuid));
+        try {
+            profile = future.get(timeout, TimeUnit.SECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            BedWars.plugin.getLogger().warning("Could not load " + e.getName() + "'s data in " + timeout + " seconds.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            ex.printStackTrace();
+        }
+
+        if (profile == null) {
+            // do not let them play with empty data that would overwrite their stats
+            e.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, "Could not load your data. Please try again.");
+            return;
+        }
+        profile.getStats().setName(e.getName());
+        cache.put(profile);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLoginResult(AsyncPlayerPreLoginEvent e) {
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            // denied by someone else after loading
+            cache.release(e.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent e) {
+        if (e.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            cache.release(e.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        cache.release(e.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Data loaded when the player logged in, kept up to date with saved changes.
+     */
+    @Nullable
+    public static PlayerProfile getProfile(UUID uuid) {
+        return cache.get(uuid);
+    }
+
+    public static ProfileCache getCache() {
+        return cache;
+    }
+}
@@ -28,6 +28,7 @@ import com.andrei1058.bedwars.api.arena.shop.IContentTier;
 import com.andrei1058.bedwars.api.configuration.ConfigPath;
 import com.andrei1058.bedwars.api.events.shop.ShopBuyEvent;
 import com.andrei1058.bedwars.api.language.Language;
+import com.andrei1058.bedwars.api.language.MessageTemplate;
 import com.andrei1058.bedwars.api.language.Messages;
 import com.andrei1058.bedwars.arena.Arena;
 import com.andrei1058.bedwars.configuration.ArenaConfig;
@@ -50,6 +51,7 @@ import java.util.List;
 import static com.andrei1058.bedwars.BedWars.nms;
 import static com.andrei1058.bedwars.BedWars.plugin;
 import static com.andrei1058.bedwars.api.language.Language.getMsg;
+import static com.andrei1058.bedwars.api.language.Language.getTemplate;
 
 /**
  * 代表商店类别中的一个可购买内容。
@@ -133,17 +135,9 @@ public class CategoryContent implements ICategoryContent {
 
         // 初始化语言文件路径
         itemNamePath = Messages.SHOP_CONTENT_TIER_ITEM_NAME.replace("%category%", categoryName).replace("%content%", contentName);
-        for (Language lang : Language.getLanguages()) {
-            if (!lang.exists(itemNamePath)) {
-                lang.set(itemNamePath, "&cName not set");
-            }
-        }
+        Language.saveIfNotExists(itemNamePath, "&cName not set");
         itemLorePath = Messages.SHOP_CONTENT_TIER_ITEM_LORE.replace("%category%", categoryName).replace("%content%", contentName);
-        for (Language lang : Language.getLanguages()) {
-            if (!lang.exists(itemLorePath)) {
-                lang.set(itemLorePath, "&cLore not set");
-            }
-        }
+        Language.saveIfNotExists(itemLorePath, "&cLore not set");
 
         identifier = path;
 
@@ -196,8 +190,8 @@ public class CategoryContent implements ICategoryContent {
         boolean checkMoney = (!yml.getBoolean(ConfigPath.ARENA_ENABLE_XP) || xpPrice == 0) ? money < ct.getPrice() : player.getLevel() < xpPrice;
         if (checkMoney) {
             int amount = (!yml.getBoolean(ConfigPath.ARENA_ENABLE_XP) || xpPrice == 0) ? ct.getPrice() - money : xpPrice - player.getLevel();
-            player.sendMessage(getMsg(player, Messages.SHOP_INSUFFICIENT_MONEY).replace("{currency}", getMsg(player, currencyMsgPath)).
-                    replace("{amount}", String.valueOf(amount)));
+            player.sendMessage(getTemplate(player, Messages.SHOP_INSUFFICIENT_MONEY).render("{currency}", getMsg(player, currencyMsgPath),
+                    "{amount}", String.valueOf(amount)));
             Sounds.playSound(ConfigPath.SOUNDS_INSUFF_MONEY, player);
             return;
         }
@@ -227,10 +221,10 @@ public class CategoryContent implements ICategoryContent {
         if (itemNamePath == null || Language.getPlayerLanguage(player).getYml().get(itemNamePath) == null) {
             ItemStack displayItem = ct.getItemStack();
             if (displayItem.getItemMeta() != null && displayItem.getItemMeta().hasDisplayName()) {
-                player.sendMessage(getMsg(player, Messages.SHOP_NEW_PURCHASE).replace("{item}", displayItem.getItemMeta().getDisplayName()));
+                player.sendMessage(getTemplate(player, Messages.SHOP_NEW_PURCHASE).render("{item}", displayItem.getItemMeta().getDisplayName()));
             }
         } else {
-            player.sendMessage(getMsg(player, Messages.SHOP_NEW_PURCHASE).replace("{item}", ChatColor.stripColor(getMsg(player, itemNamePath))).replace("{color}", "").replace("{tier}", ""));
+            player.sendMessage(getTemplate(player, Messages.SHOP_NEW_PURCHASE).render("{item}", ChatColor.stripColor(getMsg(player, itemNamePath)), "{color}", "", "{tier}", ""));
         }
 
         // 设置类别权重
@@ -321,30 +315,29 @@ public class CategoryContent implements ICategoryContent {
                     buyStatus = getMsg(player, Messages.SHOP_LORE_STATUS_ARMOR);
                 }
             } else if (!canAfford) {
-                buyStatus = getMsg(player, Messages.SHOP_LORE_STATUS_CANT_AFFORD).replace("{currency}", translatedCurrency);
+                buyStatus = getTemplate(player, Messages.SHOP_LORE_STATUS_CANT_AFFORD).render("{currency}", translatedCurrency);
             } else {
                 buyStatus = getMsg(player, Messages.SHOP_LORE_STATUS_CAN_BUY);
             }
 
 
-            im.setDisplayName(getMsg(player, itemNamePath).replace("{color}", color).replace("{tier}", tier));
+            im.setDisplayName(getTemplate(player, itemNamePath).render("{color}", color, "{tier}", tier));
 
             List<String> lore = new ArrayList<>();
-            for (String s : Language.getList(player, itemLorePath)) {
-                if (s.contains("{quick_buy}")) {
+            for (MessageTemplate line : Language.getTemplateList(player, itemLorePath)) {
+                if (line.hasSlot("{quick_buy}")) {
                     if (hasQuick) {
                         if (ShopIndex.getIndexViewers().contains(player.getUniqueId())) {
-                            s = getMsg(player, Messages.SHOP_LORE_QUICK_REMOVE);
+                            line = getTemplate(player, Messages.SHOP_LORE_QUICK_REMOVE);
                         } else {
                             continue;
                         }
                     } else {
-                        s = getMsg(player, Messages.SHOP_LORE_QUICK_ADD);
+                        line = getTemplate(player, Messages.SHOP_LORE_QUICK_ADD);
                     }
                 }
-                s = s.replace("{tier}", tier).replace("{color}", color).replace("{cost}", cColor + String.valueOf(displayPrice))
-                        .replace("{currency}", cColor + translatedCurrency).replace("{buy_status}", buyStatus);
-                lore.add(s);
+                lore.add(line.render("{tier}", tier, "{color}", color, "{cost}", cColor + String.valueOf(displayPrice),
+                        "{currency}", cColor + translatedCurrency, "{buy_status}", buyStatus));
             }
 
             im.setLore(lore);
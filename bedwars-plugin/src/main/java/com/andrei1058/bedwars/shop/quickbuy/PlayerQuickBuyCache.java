@@ -24,6 +24,8 @@ import com.andrei1058.bedwars.BedWars;
 import com.andrei1058.bedwars.api.configuration.ConfigPath;
 import com.andrei1058.bedwars.api.language.Language;
 import com.andrei1058.bedwars.api.language.Messages;
+import com.andrei1058.bedwars.database.PlayerDataBatch;
+import com.andrei1058.bedwars.listeners.joinhandler.ProfileLoader;
 import com.andrei1058.bedwars.shop.ShopCache;
 import com.andrei1058.bedwars.shop.ShopManager;
 import com.andrei1058.bedwars.shop.main.CategoryContent;
@@ -36,8 +38,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -51,7 +54,10 @@ public class PlayerQuickBuyCache {
 
     public static int[] quickSlots = new int[]{19, 20, 21, 22, 23, 24, 25, 28, 29, 30, 31, 32, 33, 34, 37, 38, 39, 40, 41, 42, 43};
     private static final ConcurrentHashMap<UUID, PlayerQuickBuyCache> quickBuyCaches = new ConcurrentHashMap<>();
-    private final HashMap<Integer, String> updateSlots = new HashMap<>();
+    // layout edited since it was loaded
+    private boolean modified = false;
+    // layout could not be read, saving would overwrite the stored one
+    private volatile boolean loadFailed = false;
 
     public PlayerQuickBuyCache(Player player) {
         if (player == null) return;
@@ -92,30 +98,69 @@ public class PlayerQuickBuyCache {
     }
 
     public void destroy() {
-        elements.clear();
         if (task != null) {
             task.cancel();
         }
         quickBuyCaches.remove(player);
-        this.pushChangesToDB();
+        Map<Integer, String> layout = takeChanges();
+        if (layout != null) {
+            QuickBuySaver.save(player, layout);
+        }
+        elements.clear();
+    }
+
+    /**
+     * Add the layout to a batch if it was changed since it was last saved.
+     */
+    public void collectChanges(PlayerDataBatch batch) {
+        Map<Integer, String> layout = takeChanges();
+        if (layout != null) {
+            batch.addQuickBuy(player, layout);
+        }
+    }
+
+    /**
+     * @return the layout to save or null if it was not changed.
+     */
+    @Nullable
+    private Map<Integer, String> takeChanges() {
+        // players who never customise their quick buy are not saved
+        if (!modified || loadFailed) return null;
+        Map<Integer, String> layout = new TreeMap<>();
+        for (QuickBuyElement element : elements) {
+            layout.put(element.getSlot(), element.getCategoryContent().getIdentifier());
+        }
+        // keep the cached profile in sync with what is saved
+        ProfileLoader.getCache().update(player, profile -> profile.withQuickBuy(layout));
+        modified = false;
+        return layout;
     }
 
+    /**
+     * Change a slot on player request. The layout will be saved.
+     */
     public void setElement(int slot, CategoryContent cc) {
+        setDefaultElement(slot, cc);
+        modified = true;
+    }
+
+    /**
+     * Fill a slot from shop defaults without marking the layout as changed.
+     */
+    void setDefaultElement(int slot, CategoryContent cc) {
         elements.removeIf(q -> q.getSlot() == slot);
-        String element;
-        if (cc == null){
-            element = " ";
-        } else {
+        if (cc != null) {
             addQuickElement(new QuickBuyElement(cc.getIdentifier(), slot));
-            element = cc.getIdentifier();
-        }
-        if (updateSlots.containsKey(slot)){
-            updateSlots.replace(slot, element);
-        } else {
-            updateSlots.put(slot, element);
         }
     }
 
+    /**
+     * Keep the stored layout untouched, it could not be loaded.
+     */
+    void setLoadFailed() {
+        loadFailed = true;
+    }
+
     @NotNull
     private ItemStack getEmptyItem(Player player) {
         ItemStack i = emptyItem.clone();
@@ -156,9 +201,4 @@ public class PlayerQuickBuyCache {
     public void addQuickElement(QuickBuyElement e) {
         this.elements.add(e);
     }
-
-    public void pushChangesToDB() {
-        Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin,
-                () -> BedWars.getRemoteDatabase().pushQuickBuyChanges(updateSlots, this.player, elements));
-    }
 }
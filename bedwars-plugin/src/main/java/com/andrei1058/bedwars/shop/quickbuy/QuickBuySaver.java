@@ -0,0 +1,85 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.shop.quickbuy;
+
+import com.andrei1058.bedwars.BedWars;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saves customised quick buy layouts to the database.
+ * Layouts are collected for a short time and written off the main thread,
+ * so editing the quick buy in multiple games in a row results in a single write per player.
+ */
+public final class QuickBuySaver {
+
+    // ticks to wait for other changes before writing to the database
+    private static final long SAVE_DELAY = 100L;
+
+    private static final Map<UUID, Map<Integer, String>> pending = new ConcurrentHashMap<>();
+    private static BukkitTask task;
+
+    private QuickBuySaver() {
+    }
+
+    /**
+     * Schedule a layout save.
+     * Replaces a not yet saved layout of the same player.
+     */
+    public static synchronized void save(UUID player, Map<Integer, String> layout) {
+        pending.put(player, layout);
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskLaterAsynchronously(BedWars.plugin, QuickBuySaver::flush, SAVE_DELAY);
+        }
+    }
+
+    /**
+     * Remove a layout that was not saved yet, so it can be written with other player data.
+     *
+     * @return null if nothing is pending for the player.
+     */
+    public static Map<Integer, String> take(UUID player) {
+        return pending.remove(player);
+    }
+
+    /**
+     * Write pending layouts on the current thread.
+     * Called when the plugin is disabled.
+     */
+    public static void flush() {
+        synchronized (QuickBuySaver.class) {
+            task = null;
+        }
+        for (UUID player : pending.keySet()) {
+            Map<Integer, String> layout = pending.remove(player);
+            if (layout == null) continue;
+            try {
+                BedWars.getRemoteDatabase().saveQuickBuy(player, layout);
+            } catch (Exception ex) {
+                BedWars.plugin.getLogger().warning("Could not save quick buy for " + player + ": " + ex.getMessage());
+            }
+        }
+    }
+}
@@ -22,13 +22,15 @@ package com.andrei1058.bedwars.shop.quickbuy;
 
 import com.andrei1058.bedwars.BedWars;
 import com.andrei1058.bedwars.api.configuration.ConfigPath;
+import com.andrei1058.bedwars.database.PlayerProfile;
+import com.andrei1058.bedwars.listeners.joinhandler.ProfileLoader;
 import com.andrei1058.bedwars.shop.ShopManager;
 import com.andrei1058.bedwars.shop.main.CategoryContent;
 import com.andrei1058.bedwars.shop.main.ShopCategory;
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.HashMap;
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.UUID;
 
@@ -56,7 +58,23 @@ public class QuickBuyTask extends BukkitRunnable {
                 return;
             }
 
-            if (!BedWars.getRemoteDatabase().hasQuickBuy(uuid)){
+            // slot, identifier
+            Map<Integer, String> items;
+            PlayerProfile profile = ProfileLoader.getProfile(uuid);
+            if (profile != null) {
+                items = profile.getQuickBuy();
+            } else {
+                try {
+                    items = BedWars.getRemoteDatabase().getQuickBuy(uuid);
+                } catch (SQLException e) {
+                    // do not apply defaults, they would be saved over the player's layout
+                    BedWars.plugin.getLogger().warning("Could not load quick buy for " + uuid + ": " + e.getMessage());
+                    cache.setLoadFailed();
+                    return;
+                }
+            }
+
+            if (items == null){
                 if (BedWars.shop.getYml().get(ConfigPath.SHOP_QUICK_DEFAULTS_PATH) != null){
                     for (String s : BedWars.shop.getYml().getConfigurationSection(ConfigPath.SHOP_QUICK_DEFAULTS_PATH).getKeys(false)) {
                         if (BedWars.shop.getYml().get(ConfigPath.SHOP_QUICK_DEFAULTS_PATH + "." + s + ".path") != null) {
@@ -74,7 +92,7 @@ public class QuickBuyTask extends BukkitRunnable {
                             for (ShopCategory sc : ShopManager.getShop().getCategoryList()) {
                                 for (CategoryContent cc : sc.getCategoryContentList()) {
                                     if (cc.getIdentifier().equals(BedWars.shop.getYml().getString(ConfigPath.SHOP_QUICK_DEFAULTS_PATH + "." + s + ".path"))) {
-                                        cache.setElement(Integer.parseInt(BedWars.shop.getYml().getString(ConfigPath.SHOP_QUICK_DEFAULTS_PATH + "." + s + ".slot")), cc);
+                                        cache.setDefaultElement(Integer.parseInt(BedWars.shop.getYml().getString(ConfigPath.SHOP_QUICK_DEFAULTS_PATH + "." + s + ".slot")), cc);
                                     }
                                 }
                             }
@@ -83,9 +101,6 @@ public class QuickBuyTask extends BukkitRunnable {
                     }
                 }
             } else {
-                // slot, identifier
-                HashMap<Integer, String> items = BedWars.getRemoteDatabase().getQuickBuySlots(uuid, PlayerQuickBuyCache.quickSlots);
-                if (items == null) return;
                 if (items.isEmpty()) return;
                 for (Map.Entry<Integer, String> entry : items.entrySet()) {
                     if (entry.getValue().isEmpty()) continue;
@@ -16,7 +16,6 @@ import com.andrei1058.bedwars.levels.internal.PlayerLevel;
 import com.andrei1058.bedwars.stats.PlayerStats;
 import com.andrei1058.spigot.sidebar.*;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -24,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static com.andrei1058.bedwars.BedWars.*;
@@ -41,6 +41,7 @@ public class BwSidebar implements ISidebar {
     private final Player player;
     private IArena arena;
     private Sidebar handle;
+    private SidebarLine title = EMPTY_TITLE;
     private TabHeaderFooter headerFooter;
     private final SimpleDateFormat dateFormat;
     private final SimpleDateFormat nextEventDateFormat;
@@ -49,6 +50,11 @@ public class BwSidebar implements ISidebar {
 
     private final BwTabList tabList;
 
+    // placeholders used by sidebar lines, their values are cached between refreshes
+    private VersionedPlaceholder[] usedPlaceholders = new VersionedPlaceholder[0];
+    private boolean alwaysRender = false;
+    private long renderedVersion = 0;
+
     public @Nullable StatisticsOrdered topStatistics;
 
     protected BwSidebar(Player player) {
@@ -77,26 +83,38 @@ public class BwSidebar implements ISidebar {
 
     public void setContent(List<String> titleArray, List<String> lineArray, @Nullable IArena arena) {
         this.arena = arena;
-        SidebarLine title = this.normalizeTitle(titleArray);
-        List<SidebarLine> lines = this.normalizeLines(lineArray);
+        RenderInputs inputs = new RenderInputs();
+        titleArray.forEach(inputs::collect);
+        SidebarLine title = titleArray.isEmpty() ? EMPTY_TITLE : TitleAnimation.compile(titleArray);
+        List<SidebarLine> lines = this.normalizeLines(lineArray, inputs);
 
         if (null == arena) {
             // clean up
             setTopStatistics(null);
         }
 
-        ConcurrentLinkedQueue<PlaceholderProvider> placeholders = this.getPlaceholders(this.getPlayer());
+        Map<String, VersionedPlaceholder> versioned = new HashMap<>();
+        ConcurrentLinkedQueue<PlaceholderProvider> placeholders = new ConcurrentLinkedQueue<>();
+        this.collectPlaceholders(this.getPlayer()).forEach((placeholder, supplier) -> {
+            VersionedPlaceholder versionedPlaceholder = new VersionedPlaceholder(placeholder, supplier);
+            versioned.put(placeholder, versionedPlaceholder);
+            placeholders.add(versionedPlaceholder.getProvider());
+        });
         placeholders.addAll(this.persistentProviders);
 
         // if it is the first time setting content we create the handle
         if (null == handle) {
+            bindPlaceholders(versioned, inputs);
+            this.title = title;
             handle = SidebarService.getInstance().getSidebarHandler().createSidebar(title, lines, placeholders);
             handle.add(player);
         } else {
             handle.clearLines();
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                bindPlaceholders(versioned, inputs);
                 new ArrayList<>(handle.getPlaceholders()).forEach(p -> handle.removePlaceholder(p.getPlaceholder()));
                 placeholders.forEach(p -> handle.addPlaceholder(p));
+                this.title = title;
                 handle.setTitle(title);
                 lines.forEach(l -> handle.addLine(l));
             }, 2L);
@@ -105,6 +123,75 @@ public class BwSidebar implements ISidebar {
         assignTabHeaderFooter();
     }
 
+    /**
+     * Get the cohort of this sidebar: players in the same arena, language and team.
+     */
+    private @NotNull SidebarCohort getCohort(@NotNull Language language) {
+        ITeam team = null;
+        if (null != arena) {
+            team = arena.getTeam(player);
+            if (null == team) {
+                team = arena.getExTeam(player.getUniqueId());
+            }
+        }
+        return SidebarService.getInstance().getCohort(arena, language, team);
+    }
+
+    /**
+     * Keep track of placeholders used by the current lines.
+     */
+    private void bindPlaceholders(@NotNull Map<String, VersionedPlaceholder> versioned, @NotNull RenderInputs inputs) {
+        List<VersionedPlaceholder> used = new ArrayList<>();
+        boolean unresolved = false;
+        for (String slot : inputs.slots) {
+            VersionedPlaceholder placeholder = versioned.get(slot);
+            if (null == placeholder) {
+                // provided by persistent placeholders or somebody else, we cannot tell when it changes
+                unresolved = true;
+            } else {
+                used.add(placeholder);
+            }
+        }
+        this.usedPlaceholders = used.toArray(new VersionedPlaceholder[0]);
+        this.alwaysRender = unresolved || inputs.alwaysRender;
+        this.renderedVersion = 0;
+        for (VersionedPlaceholder placeholder : usedPlaceholders) {
+            this.renderedVersion += placeholder.getVersion();
+        }
+    }
+
+    /**
+     * Refresh line placeholders.
+     * Lines are rendered and sent again only if a placeholder they use has changed its value.
+     */
+    public void refreshPlaceholders() {
+        if (null == handle) {
+            return;
+        }
+        long version = 0;
+        for (VersionedPlaceholder placeholder : usedPlaceholders) {
+            placeholder.poll();
+            version += placeholder.getVersion();
+        }
+        if (alwaysRender || version != renderedVersion) {
+            renderedVersion = version;
+            handle.refreshPlaceholders();
+        }
+    }
+
+    /**
+     * Send the current title animation frame. Static titles are skipped.
+     */
+    public void refreshTitle() {
+        if (null == handle) {
+            return;
+        }
+        if (title instanceof TitleAnimation && !((TitleAnimation) title).isAnimated()) {
+            return;
+        }
+        handle.refreshTitle();
+    }
+
     public Player getPlayer() {
         return player;
     }
@@ -125,11 +212,57 @@ public class BwSidebar implements ISidebar {
      */
     @Contract(pure = true)
     public @NotNull LinkedList<SidebarLine> normalizeLines(@NotNull List<String> lineArray) {
+        return normalizeLines(lineArray, null);
+    }
+
+    private @NotNull LinkedList<SidebarLine> normalizeLines(@NotNull List<String> lineArray, @Nullable RenderInputs inputs) {
         LinkedList<SidebarLine> lines = new LinkedList<>();
 
-        int teamCount = 0;
         Language language = Language.getPlayerLanguage(player);
+        List<SidebarCohort.RenderedLine> renderedLines = this.getCohort(language).getLines(
+                lineArray, () -> this.renderLines(lineArray, language)
+        );
+
+        for (SidebarCohort.RenderedLine renderedLine : renderedLines) {
+            // Add the line to the sidebar
+            String finalTemp = renderedLine.getContent();
+            String scoreLine = renderedLine.getScore();
+
+            String[] divided = finalTemp.split(",");
+
+            SidebarLine sidebarLine;
+
+            if (divided.length > 1) {
+                sidebarLine = normalizeTitle(Arrays.asList(divided));
+            } else {
+                sidebarLine = new BwSidebarLine(finalTemp, scoreLine);
+            }
+
+            if (null != inputs) {
+                inputs.collect(finalTemp);
+                if (null != scoreLine) {
+                    inputs.collect(scoreLine);
+                }
+                if (divided.length > 1) {
+                    // animated lines are moved forward by the refresh
+                    inputs.alwaysRender = true;
+                }
+            }
+
+            lines.add(sidebarLine);
+        }
+        return lines;
+    }
+
+    /**
+     * Replace placeholders that are the same for the whole cohort.
+     */
+    private @NotNull List<SidebarCohort.RenderedLine> renderLines(@NotNull List<String> lineArray, @NotNull Language language) {
+        List<SidebarCohort.RenderedLine> lines = new ArrayList<>();
+
+        int teamCount = 0;
         String genericTeamFormat = language.m(Messages.FORMATTING_SCOREBOARD_TEAM_GENERIC);
+        Map<String, String> staticValues = this.getStaticReplacements(language);
 
         StatisticsOrdered.StringParser statParser = null == topStatistics ? null : topStatistics.newParser();
 
@@ -139,102 +272,82 @@ public class BwSidebar implements ISidebar {
             String scoreLine = null;
 
             // generic team placeholder {team}
-            if (null != arena) {
-                if (line.trim().equals("{team}")) {
-                    if (arena.getTeams().size() > teamCount) {
-                        ITeam team = arena.getTeams().get(teamCount++);
-                        String teamName = team.getDisplayName(language);
-                        String teamLetter = String.valueOf(!teamName.isEmpty() ? teamName.charAt(0) : "");
-
-                        line = genericTeamFormat
-                                .replace("{TeamLetter}", teamLetter)
-                                .replace("{TeamColor}", team.getColor().chat().toString())
-                                .replace("{TeamName}", teamName);
-
-                        if (line.contains("{TeamStatus}") && getAPI().getVersionSupport().getVersion() >= 10) {
-                            line = line.replace("{TeamStatus}", "");
-                            scoreLine = "{Team" + team.getName() + "Status}";
-                        } else {
-                            line = line.replace("{TeamStatus}", "{Team" + team.getName() + "Status}");
-                        }
+            if (null != arena && line.trim().equals("{team}")) {
+                if (arena.getTeams().size() > teamCount) {
+                    ITeam team = arena.getTeams().get(teamCount++);
+                    String teamName = team.getDisplayName(language);
+
+                    Map<String, String> teamValues = new HashMap<>();
+                    teamValues.put("{TeamLetter}", String.valueOf(!teamName.isEmpty() ? teamName.charAt(0) : ""));
+                    teamValues.put("{TeamColor}", team.getColor().chat().toString());
+                    teamValues.put("{TeamName}", teamName);
+
+                    if (genericTeamFormat.contains("{TeamStatus}") && getAPI().getVersionSupport().getVersion() >= 10) {
+                        teamValues.put("{TeamStatus}", "");
+                        scoreLine = "{Team" + team.getName() + "Status}";
                     } else {
-                        // skip line
-                        continue;
+                        teamValues.put("{TeamStatus}", "{Team" + team.getName() + "Status}");
                     }
+                    line = SidebarTemplate.compile(genericTeamFormat).render(teamValues);
+                } else {
+                    // skip line
+                    continue;
                 }
+            }
 
-                line = line
-                        .replace("{map}", arena.getDisplayName())
-                        .replace("{map_name}", arena.getArenaName())
-                        .replace("{group}", arena.getDisplayGroup(player));
-
-                for (ITeam currentTeam : arena.getTeams()) {
-                    final ChatColor color = currentTeam.getColor().chat();
-                    final String teamName = currentTeam.getDisplayName(language);
-                    final String teamLetter = String.valueOf(!teamName.isEmpty() ? teamName.charAt(0) : "");
-
-                    // Static team placeholders
-                    line = line
-                            .replace("{Team" + currentTeam.getName() + "Color}", color.toString())
-                            .replace("{Team" + currentTeam.getName() + "Name}", teamName)
-                            .replace("{Team" + currentTeam.getName() + "Letter}", teamLetter);
-
-
-                    boolean isMember = currentTeam.isMember(getPlayer()) || currentTeam.wasMember(getPlayer().getUniqueId());
-                    if (isMember) {
-                        HashMap<String, String> replacements = tabList.getTeamReplacements(currentTeam);
-                        for (Map.Entry<String, String> entry : replacements.entrySet()) {
-                            line = line.replace(entry.getKey(), entry.getValue());
-                        }
-                    }
-                }
-                if (arena.getWinner() != null) {
-                    String winnerDisplayName = arena.getWinner().getDisplayName(Language.getPlayerLanguage(getPlayer()));
-                    line = line
-                            .replace(
-                                    "{winnerTeamName}",
-                                    winnerDisplayName
-                            ).replace(
-                                    "{winnerTeamLetter}",
-                                    arena.getWinner().getColor().chat() + (winnerDisplayName.substring(0, 1))
-                            ).replace(
-                                    "{winnerTeamColor}",
-                                    arena.getWinner().getColor().chat().toString()
-                            );
-                }
+            line = SidebarTemplate.compile(line).render(staticValues);
 
-                if (null != this.topStatistics && null != statParser) {
-                    line = statParser.parseString(line, language, language.m(Messages.MEANING_NOBODY));
-                    if (null == line) {
-                        continue;
-                    }
+            if (null != arena && null != this.topStatistics && null != statParser) {
+                line = statParser.parseString(line, language, language.m(Messages.MEANING_NOBODY));
+                if (null == line) {
+                    continue;
                 }
             }
 
-            // General static placeholders
-            line = line
-                    .replace("{serverIp}", BedWars.config.getString(ConfigPath.GENERAL_CONFIG_PLACEHOLDERS_REPLACEMENTS_SERVER_IP))
-                    .replace("{poweredBy}", BedWars.config.getString(ConfigPath.GENERAL_CONFIG_PLACEHOLDERS_REPLACEMENTS_POWERED_BY))
-                    .replace("{version}", plugin.getDescription().getVersion())
-                    .replace("{server}", config.getString(ConfigPath.GENERAL_CONFIGURATION_BUNGEE_OPTION_SERVER_ID))
-            ;
+            lines.add(new SidebarCohort.RenderedLine(line, scoreLine));
+        }
+        return lines;
+    }
 
-            // Add the line to the sidebar
-            String finalTemp = line;
+    /**
+     * Placeholders that do not change while the sidebar content is the same.
+     */
+    private @NotNull Map<String, String> getStaticReplacements(@NotNull Language language) {
+        Map<String, String> values = new HashMap<>();
 
-            String[] divided = finalTemp.split(",");
+        if (null != arena) {
+            values.put("{map}", arena.getDisplayName());
+            values.put("{map_name}", arena.getArenaName());
+            values.put("{group}", arena.getDisplayGroup(player));
 
-            SidebarLine sidebarLine;
+            for (ITeam currentTeam : arena.getTeams()) {
+                final String teamName = currentTeam.getDisplayName(language);
 
-            if (divided.length > 1) {
-                sidebarLine = normalizeTitle(Arrays.asList(divided));
-            } else {
-                sidebarLine = new BwSidebarLine(finalTemp, scoreLine);
+                // Static team placeholders
+                values.put("{Team" + currentTeam.getName() + "Color}", currentTeam.getColor().chat().toString());
+                values.put("{Team" + currentTeam.getName() + "Name}", teamName);
+                values.put("{Team" + currentTeam.getName() + "Letter}", String.valueOf(!teamName.isEmpty() ? teamName.charAt(0) : ""));
+
+                boolean isMember = currentTeam.isMember(getPlayer()) || currentTeam.wasMember(getPlayer().getUniqueId());
+                if (isMember) {
+                    values.putAll(tabList.getTeamReplacements(currentTeam));
+                }
             }
 
-            lines.add(sidebarLine);
+            if (arena.getWinner() != null) {
+                String winnerDisplayName = arena.getWinner().getDisplayName(language);
+                values.put("{winnerTeamName}", winnerDisplayName);
+                values.put("{winnerTeamLetter}", arena.getWinner().getColor().chat() + (winnerDisplayName.substring(0, 1)));
+                values.put("{winnerTeamColor}", arena.getWinner().getColor().chat().toString());
+            }
         }
-        return lines;
+
+        // General static placeholders
+        values.put("{serverIp}", BedWars.config.getString(ConfigPath.GENERAL_CONFIG_PLACEHOLDERS_REPLACEMENTS_SERVER_IP));
+        values.put("{poweredBy}", BedWars.config.getString(ConfigPath.GENERAL_CONFIG_PLACEHOLDERS_REPLACEMENTS_POWERED_BY));
+        values.put("{version}", plugin.getDescription().getVersion());
+        values.put("{server}", config.getString(ConfigPath.GENERAL_CONFIGURATION_BUNGEE_OPTION_SERVER_ID));
+        return values;
     }
 
     @Override
@@ -257,64 +370,83 @@ public class BwSidebar implements ISidebar {
     @Contract(pure = true)
     @NotNull ConcurrentLinkedQueue<PlaceholderProvider> getPlaceholders(@NotNull Player player) {
         ConcurrentLinkedQueue<PlaceholderProvider> providers = new ConcurrentLinkedQueue<>();
-        providers.add(new PlaceholderProvider("{player}", player::getDisplayName));
-        providers.add(new PlaceholderProvider("{money}", () -> String.valueOf(getEconomy().getMoney(player))));
-        providers.add(new PlaceholderProvider("{playerName}", player::getCustomName));
-        providers.add(new PlaceholderProvider("{date}", () -> dateFormat.format(new Date(System.currentTimeMillis()))));
+        this.collectPlaceholders(player).forEach((placeholder, supplier) ->
+                providers.add(new PlaceholderProvider(placeholder, supplier))
+        );
+        return providers;
+    }
+
+    /**
+     * Get placeholder suppliers for given player.
+     *
+     * @param player subject.
+     * @return placeholder to replacement supplier.
+     */
+    @Contract(pure = true)
+    private @NotNull Map<String, Callable<String>> collectPlaceholders(@NotNull Player player) {
+        Map<String, Callable<String>> providers = new LinkedHashMap<>();
+        // same values for players in the same arena, language and team
+        // shared values are rendered in the owner's language, also when the subject is a tab target
+        SidebarCohort cohort = this.getCohort(getPlayerLanguage(getPlayer()));
+
+        providers.put("{player}", player::getDisplayName);
+        providers.put("{money}", () -> String.valueOf(getEconomy().getMoney(player)));
+        providers.put("{playerName}", player::getCustomName);
+        providers.put("{date}", cohort.shared("{date}", () -> dateFormat.format(new Date(System.currentTimeMillis()))));
         // fixme 29/08/2023: disabled for now because this is not a dynamic placeholder. Let's see what's the impact.
-//        providers.add(new PlaceholderProvider("{serverIp}", () -> BedWars.config.getString(ConfigPath.GENERAL_CONFIG_PLACEHOLDERS_REPLACEMENTS_SERVER_IP)));
-        providers.add(new PlaceholderProvider("{version}", () -> plugin.getDescription().getVersion()));
+//        providers.put("{serverIp}", () -> BedWars.config.getString(ConfigPath.GENERAL_CONFIG_PLACEHOLDERS_REPLACEMENTS_SERVER_IP));
+        providers.put("{version}", () -> plugin.getDescription().getVersion());
         PlayerLevel level = PlayerLevel.getLevelByPlayer(player.getUniqueId());
         if (null != level) {
-            providers.add(new PlaceholderProvider("{progress}", level::getProgress));
-            providers.add(new PlaceholderProvider("{level}", () -> String.valueOf(level.getLevelName())));
-            providers.add(new PlaceholderProvider("{levelUnformatted}", () -> String.valueOf(level.getLevel())));
-            providers.add(new PlaceholderProvider("{currentXp}", level::getFormattedCurrentXp));
-            providers.add(new PlaceholderProvider("{requiredXp}", level::getFormattedRequiredXp));
+            providers.put("{progress}", level::getProgress);
+            providers.put("{level}", () -> String.valueOf(level.getLevelName()));
+            providers.put("{levelUnformatted}", () -> String.valueOf(level.getLevel()));
+            providers.put("{currentXp}", level::getFormattedCurrentXp);
+            providers.put("{requiredXp}", level::getFormattedRequiredXp);
         }
 
         if (hasNoArena()) {
-            providers.add(new PlaceholderProvider("{on}", () ->
+            providers.put("{on}", cohort.shared("{on}", () ->
                     String.valueOf(Bukkit.getOnlinePlayers().size()))
             );
             PlayerStats persistentStats = BedWars.getStatsManager().get(player.getUniqueId());
             //noinspection ConstantConditions
             if (null != persistentStats) {
-                providers.add(new PlaceholderProvider("{kills}", () ->
-                        String.valueOf(persistentStats.getKills()))
+                providers.put("{kills}", () ->
+                        String.valueOf(persistentStats.getKills())
                 );
-                providers.add(new PlaceholderProvider("{finalKills}", () ->
-                        String.valueOf(persistentStats.getFinalKills()))
+                providers.put("{finalKills}", () ->
+                        String.valueOf(persistentStats.getFinalKills())
                 );
-                providers.add(new PlaceholderProvider("{beds}", () ->
-                        String.valueOf(persistentStats.getBedsDestroyed()))
+                providers.put("{beds}", () ->
+                        String.valueOf(persistentStats.getBedsDestroyed())
                 );
-                providers.add(new PlaceholderProvider("{deaths}", () ->
-                        String.valueOf(persistentStats.getDeaths()))
+                providers.put("{deaths}", () ->
+                        String.valueOf(persistentStats.getDeaths())
                 );
-                providers.add(new PlaceholderProvider("{finalDeaths}", () ->
-                        String.valueOf(persistentStats.getFinalDeaths()))
+                providers.put("{finalDeaths}", () ->
+                        String.valueOf(persistentStats.getFinalDeaths())
                 );
-                providers.add(new PlaceholderProvider("{wins}", () ->
-                        String.valueOf(persistentStats.getWins()))
+                providers.put("{wins}", () ->
+                        String.valueOf(persistentStats.getWins())
                 );
-                providers.add(new PlaceholderProvider("{losses}", () ->
-                        String.valueOf(persistentStats.getLosses()))
+                providers.put("{losses}", () ->
+                        String.valueOf(persistentStats.getLosses())
                 );
-                providers.add(new PlaceholderProvider("{gamesPlayed}", () ->
-                        String.valueOf(persistentStats.getGamesPlayed()))
+                providers.put("{gamesPlayed}", () ->
+                        String.valueOf(persistentStats.getGamesPlayed())
                 );
             }
         } else {
-            providers.add(new PlaceholderProvider("{on}", () -> String.valueOf(arena.getPlayers().size())));
-            providers.add(new PlaceholderProvider("{max}", () -> String.valueOf(arena.getMaxPlayers())));
-            providers.add(new PlaceholderProvider("{nextEvent}", this::getNextEventName));
+            providers.put("{on}", cohort.shared("{on}", () -> String.valueOf(arena.getPlayers().size())));
+            providers.put("{max}", cohort.shared("{max}", () -> String.valueOf(arena.getMaxPlayers())));
+            providers.put("{nextEvent}", cohort.shared("{nextEvent}", this::getNextEventName));
 
             if (arena.isSpectator(player)) {
                 Language lang = getPlayerLanguage(player);
                 String targetFormat = lang.m(Messages.FORMAT_SPECTATOR_TARGET);
 
-                providers.add(new PlaceholderProvider("{spectatorTarget}", () -> {
+                providers.put("{spectatorTarget}", () -> {
                     if (null == player.getSpectatorTarget() || !(player.getSpectatorTarget() instanceof Player)) {
                         return "";
                     }
@@ -328,10 +460,10 @@ public class BwSidebar implements ISidebar {
                             .replace("{targetDisplayName}", target.getDisplayName())
                             .replace("{targetName}", target.getDisplayName())
                             .replace("{targetTeamName}", targetTeam.getDisplayName(lang));
-                }));
+                });
             }
 
-            providers.add(new PlaceholderProvider("{time}", () -> {
+            providers.put("{time}", cohort.shared("{time}", () -> {
                 GameState status = this.arena.getStatus();
                 if (status == GameState.playing || status == GameState.restarting) {
                     return getNextEventTime();
@@ -349,24 +481,24 @@ public class BwSidebar implements ISidebar {
 
                 arena.getStatsHolder().get(player).ifPresent(holder -> {
                     holder.getStatistic(DefaultStatistics.KILLS).ifPresent(st ->
-                            providers.add(new PlaceholderProvider("{kills}", () ->
+                            providers.put("{kills}", () ->
                                     String.valueOf(st.getDisplayValue(null))
-                            )));
+                            ));
 
                     holder.getStatistic(DefaultStatistics.KILLS_FINAL).ifPresent(st ->
-                            providers.add(new PlaceholderProvider("{finalKills}", () ->
+                            providers.put("{finalKills}", () ->
                                     String.valueOf(st.getDisplayValue(null))
-                            )));
+                            ));
 
                     holder.getStatistic(DefaultStatistics.BEDS_DESTROYED).ifPresent(st ->
-                            providers.add(new PlaceholderProvider("{beds}", () ->
+                            providers.put("{beds}", () ->
                                     String.valueOf(st.getDisplayValue(null))
-                            )));
+                            ));
 
                     holder.getStatistic(DefaultStatistics.DEATHS).ifPresent(st ->
-                            providers.add(new PlaceholderProvider("{deaths}", () ->
+                            providers.put("{deaths}", () ->
                                     String.valueOf(st.getDisplayValue(null))
-                            )));
+                            ));
                 });
             }
 
@@ -374,35 +506,24 @@ public class BwSidebar implements ISidebar {
             for (ITeam currentTeam : arena.getTeams()) {
                 boolean isMember = currentTeam.isMember(player) || currentTeam.wasMember(player.getUniqueId());
 
-                providers.add(new PlaceholderProvider("{Team" + currentTeam.getName() + "Status}", () -> {
-                    String result;
+                // the status is the same for every viewer, only the "your team" suffix depends on the player
+                Callable<String> status = cohort.shared("team-status:" + currentTeam.getName(), () -> {
                     if (currentTeam.isBedDestroyed()) {
                         if (currentTeam.getSize() > 0) {
-                            result = getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_BED_DESTROYED)
+                            return getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_BED_DESTROYED)
                                     .replace("{remainingPlayers}", String.valueOf(currentTeam.getSize()));
-                        } else {
-                            result = getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_TEAM_ELIMINATED);
                         }
-                    } else {
-                        result = getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_TEAM_ALIVE);
+                        return getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_TEAM_ELIMINATED);
                     }
-                    if (isMember) {
-                        result += getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_YOUR_TEAM);
-                    }
-                    return result;
-                }));
+                    return getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_TEAM_ALIVE);
+                });
 
                 if (isMember) {
-                    providers.add(new PlaceholderProvider("{teamStatus}", () -> {
-                        if (currentTeam.isBedDestroyed()) {
-                            if (currentTeam.getSize() > 0) {
-                                return getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_BED_DESTROYED)
-                                        .replace("{remainingPlayers}", String.valueOf(currentTeam.getSize()));
-                            }
-                            return getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_TEAM_ELIMINATED);
-                        }
-                        return getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_TEAM_ALIVE);
-                    }));
+                    providers.put("{Team" + currentTeam.getName() + "Status}", () ->
+                            status.call() + getMsg(getPlayer(), Messages.FORMATTING_SCOREBOARD_YOUR_TEAM));
+                    providers.put("{teamStatus}", status);
+                } else {
+                    providers.put("{Team" + currentTeam.getName() + "Status}", status);
                 }
             }
         }
@@ -606,4 +727,20 @@ public class BwSidebar implements ISidebar {
     public void setTopStatistics(@Nullable StatisticsOrdered topStatistics) {
         this.topStatistics = topStatistics;
     }
+
+    /**
+     * What a sidebar needs to know to decide whether its lines have to be rendered again.
+     */
+    private static class RenderInputs {
+        private final Set<String> slots = new HashSet<>();
+        private boolean alwaysRender = false;
+
+        private void collect(@NotNull String line) {
+            Collections.addAll(slots, SidebarTemplate.compile(line).getSlots());
+            if (line.indexOf('%') != -1) {
+                // PlaceholderAPI content, we cannot tell when it changes
+                alwaysRender = true;
+            }
+        }
+    }
 }
@@ -49,8 +49,8 @@ public class BwTabList {
     private static final char ELIMINATED_FROM_TEAM_PREFIX = 'z';
 
     // Player list container. Used to manipulate deployed player tab: lines ecc.
-    // Key is player uuid.
-    private final HashMap<UUID, PlayerTab> deployedPerPlayerTabList = new HashMap<>();
+    // Key is player uuid. Keeps what was sent, so unchanged tabs are not sent again.
+    private final HashMap<UUID, DeployedTab> deployedPerPlayerTabList = new HashMap<>();
     // playing-restarting team order prefix for tab
     // this is concatenated to player identifier to keep tab-list ordered
     // and still let players have individual placeholders
@@ -74,38 +74,56 @@ public class BwTabList {
      */
     void handlePlayerList() {
 
-        // clear existing formatted player tab-lists
-        if (null != sidebar.getHandle()) {
+        handleHealthIcon();
+
+        if (null == sidebar.getHandle()) {
             deployedPerPlayerTabList.clear();
-            sidebar.getHandle().removeTabs();
+            return;
         }
 
-        handleHealthIcon();
-
         if (this.isTabFormattingDisabled()) {
+            // clear existing formatted player tab-lists
+            deployedPerPlayerTabList.clear();
+            sidebar.getHandle().removeTabs();
             return;
         }
 
+        // players that still have to be in this tab list, tabs that did not change are kept as they are
+        Set<UUID> listed = new HashSet<>();
+
         if (null == sidebar.getArena()) {
             // if tab formatting is enabled in lobby world
             if (config.getBoolean(ConfigPath.SB_CONFIG_SIDEBAR_LIST_FORMAT_LOBBY) &&
                     !config.getLobbyWorldName().trim().isEmpty()) {
 
                 World lobby = Bukkit.getWorld(config.getLobbyWorldName());
-                if (null == lobby) {
-                    return;
+                if (null != lobby) {
+                    lobby.getPlayers().forEach(inLobby -> {
+                        giveUpdateTabFormat(inLobby, true, null);
+                        listed.add(inLobby.getUniqueId());
+                    });
                 }
-                lobby.getPlayers().forEach(inLobby -> giveUpdateTabFormat(inLobby, true, null));
             }
             // sometimes due to timing issues player is not listed yet in lobby players
             giveUpdateTabFormat(sidebar.getPlayer(), true, null);
-            return;
+            listed.add(sidebar.getPlayer().getUniqueId());
+        } else {
+            sidebar.getArena().getPlayers().forEach(playing -> {
+                giveUpdateTabFormat(playing, true, null);
+                listed.add(playing.getUniqueId());
+            });
+            sidebar.getArena().getSpectators().forEach(spectating -> {
+                giveUpdateTabFormat(spectating, true, null);
+                listed.add(spectating.getUniqueId());
+            });
         }
 
-        handleHealthIcon();
-
-        sidebar.getArena().getPlayers().forEach(playing -> giveUpdateTabFormat(playing, true, null));
-        sidebar.getArena().getSpectators().forEach(spectating -> giveUpdateTabFormat(spectating, true, null));
+        // remove players that are not in this context anymore
+        for (UUID uuid : new ArrayList<>(deployedPerPlayerTabList.keySet())) {
+            if (!listed.contains(uuid)) {
+                removeTab(uuid);
+            }
+        }
     }
 
     public void handleHealthIcon() {
@@ -195,7 +213,8 @@ public class BwTabList {
 
     /**
      * Handle given player in sidebar owner tab list.
-     * Will remove existing tab and give a new one based on game conditions list like spectator, team red, etc.
+     * Will replace existing tab with a new one based on game conditions list like spectator, team red, etc.
+     * Nothing is sent if the player tab did not change.
      * Will handle invisibility potion as well.
      */
     public void giveUpdateTabFormat(@NotNull Player player, boolean skipStateCheck, @Nullable Boolean spectator) {
@@ -207,33 +226,25 @@ public class BwTabList {
         // unique tab list name
         String playerTabId = getCreatePlayerTabIdentifier(player);
 
-        // clear existing tab formatting for given player
-        PlayerTab playerTab = deployedPerPlayerTabList.getOrDefault(player.getUniqueId(), null);
-        if (null != playerTab) {
-            sidebar.getHandle().removeTab(playerTab.getIdentifier());
-            deployedPerPlayerTabList.remove(player.getUniqueId());
-        }
-
         if (!skipStateCheck) {
             if (this.isTabFormattingDisabled()) {
+                // clear existing tab formatting for given player
+                removeTab(player.getUniqueId());
                 return;
             }
         }
 
-        SidebarLine prefix;
-        SidebarLine suffix;
+        String[] prefix;
+        String[] suffix;
         IArena arena = sidebar.getArena();
-        Sidebar handle = sidebar.getHandle();
+        // placeholder providers of the tab depend on these
+        String state = getTabState(player, arena, spectator);
 
         if (null == arena) {
             prefix = getTabText(Messages.FORMATTING_SB_TAB_LOBBY_PREFIX, player, null);
             suffix = getTabText(Messages.FORMATTING_SB_TAB_LOBBY_SUFFIX, player, null);
 
-            PlayerTab tab = handle.playerTabCreate(
-                    playerTabId, player, prefix, suffix, PlayerTab.PushingRule.NEVER,
-                    this.sidebar.getPlaceholders(player)
-            );
-            deployedPerPlayerTabList.put(player.getUniqueId(), tab);
+            deployTab(player, state, playerTabId, prefix, suffix, PlayerTab.PushingRule.NEVER, false);
             return;
         }
 
@@ -261,12 +272,9 @@ public class BwTabList {
                     suffix = getTabText(Messages.FORMATTING_SB_TAB_PLAYING_ELM_SUFFIX, player, replacements);
                 }
 
-                PlayerTab tab = handle.playerTabCreate(
-                        getPlayerTabIdentifierEliminatedInTeam(exTeam, playerTabId),
-                        player, prefix, suffix, PlayerTab.PushingRule.NEVER,
-                        this.sidebar.getPlaceholders(player)
+                deployTab(player, state, getPlayerTabIdentifierEliminatedInTeam(exTeam, playerTabId),
+                        prefix, suffix, PlayerTab.PushingRule.NEVER, false
                 );
-                deployedPerPlayerTabList.put(player.getUniqueId(), tab);
                 return;
             }
 
@@ -291,12 +299,9 @@ public class BwTabList {
                     throw new RuntimeException("Unhandled game state..");
             }
 
-            PlayerTab tab = handle.playerTabCreate(
-                    getPlayerTabIdentifierSpectator(null, playerTabId),
-                    player, prefix, suffix, PlayerTab.PushingRule.NEVER,
-                    this.sidebar.getPlaceholders(player)
+            deployTab(player, state, getPlayerTabIdentifierSpectator(null, playerTabId),
+                    prefix, suffix, PlayerTab.PushingRule.NEVER, false
             );
-            deployedPerPlayerTabList.put(player.getUniqueId(), tab);
             return;
         }
 
@@ -327,10 +332,7 @@ public class BwTabList {
                 default:
                     throw new IllegalStateException("Unhandled game status!");
             }
-            PlayerTab t = handle.playerTabCreate(
-                    currentTabId, player, prefix, suffix, PlayerTab.PushingRule.NEVER, this.sidebar.getPlaceholders(player)
-            );
-            deployedPerPlayerTabList.put(player.getUniqueId(), t);
+            deployTab(player, state, currentTabId, prefix, suffix, PlayerTab.PushingRule.NEVER, false);
             return;
         }
 
@@ -343,32 +345,68 @@ public class BwTabList {
         prefix = getTabText(Messages.FORMATTING_SB_TAB_PLAYING_PREFIX, player, replacements);
         suffix = getTabText(Messages.FORMATTING_SB_TAB_PLAYING_SUFFIX, player, replacements);
 
-        PlayerTab teamTab = handle.playerTabCreate(
-                getPlayerTabIdentifierAliveInTeam(team, playerTabId),
-                player, prefix, suffix, PlayerTab.PushingRule.PUSH_OTHER_TEAMS,
+        deployTab(player, state, getPlayerTabIdentifierAliveInTeam(team, playerTabId),
+                prefix, suffix, PlayerTab.PushingRule.PUSH_OTHER_TEAMS,
+                player.hasPotionEffect(PotionEffectType.INVISIBILITY)
+        );
+    }
+
+    /**
+     * Send a player tab to the sidebar owner.
+     * Nothing is sent if the same tab was already deployed for the given player.
+     */
+    private void deployTab(@NotNull Player player, @NotNull String state, @NotNull String identifier, String[] prefix, String[] suffix,
+                           @NotNull PlayerTab.PushingRule pushingRule, boolean invisible) {
+        Sidebar handle = sidebar.getHandle();
+        DeployedTab deployed = deployedPerPlayerTabList.get(player.getUniqueId());
+        if (null != deployed) {
+            if (deployed.matches(state, identifier, prefix, suffix, pushingRule, invisible)) {
+                return;
+            }
+            handle.removeTab(deployed.tab.getIdentifier());
+            deployedPerPlayerTabList.remove(player.getUniqueId());
+        }
+
+        PlayerTab tab = handle.playerTabCreate(
+                identifier, player, toTabLine(prefix), toTabLine(suffix), pushingRule,
                 this.sidebar.getPlaceholders(player)
         );
-        deployedPerPlayerTabList.put(player.getUniqueId(), teamTab);
-        if (player.hasPotionEffect(PotionEffectType.INVISIBILITY)) {
-            teamTab.setNameTagVisibility(PlayerTab.NameTagVisibility.NEVER);
+        if (invisible) {
+            tab.setNameTagVisibility(PlayerTab.NameTagVisibility.NEVER);
         }
+        deployedPerPlayerTabList.put(player.getUniqueId(), new DeployedTab(tab, state, identifier, prefix, suffix, pushingRule, invisible));
     }
 
-    @NotNull
-    private SidebarLine getTabText(String path, Player targetPlayer, @Nullable HashMap<String, String> replacements) {
+    /**
+     * Game state, spectator flag and team of the given player.
+     * A tab deployed for a different state has different placeholder providers even if its text is the same.
+     */
+    private @NotNull String getTabState(@NotNull Player player, @Nullable IArena arena, @Nullable Boolean spectator) {
+        if (null == arena) {
+            return "lobby";
+        }
+        ITeam team = arena.getTeam(player);
+        ITeam exTeam = arena.getExTeam(player.getUniqueId());
+        return arena.getStatus().name() + ':' + (arena.isSpectator(player) || (spectator != null && spectator))
+                + ':' + (null == team ? "" : team.getName()) + ':' + (null == exTeam ? "" : exTeam.getName());
+    }
+
+    private void removeTab(@NotNull UUID player) {
+        DeployedTab deployed = deployedPerPlayerTabList.remove(player);
+        if (null != deployed && null != sidebar.getHandle()) {
+            sidebar.getHandle().removeTab(deployed.tab.getIdentifier());
+        }
+    }
+
+    private @NotNull String[] getTabText(String path, Player targetPlayer, @Nullable HashMap<String, String> replacements) {
         List<String> strings = Language.getList(sidebar.getPlayer(), path);
         if (strings.isEmpty()) {
-            return new SidebarLine() {
-                @NotNull
-                @Override
-                public String getLine() {
-                    return "";
-                }
-            };
+            return new String[]{""};
         }
 
-        strings = new ArrayList<>();
-        for (String string : Language.getList(sidebar.getPlayer(), path)) {
+        String[] lines = new String[strings.size()];
+        for (int i = 0; i < lines.length; i++) {
+            String string = strings.get(i);
             String parsed = string.replace("{vPrefix}", BedWars.getChatSupport().getPrefix(targetPlayer))
                     .replace("{vSuffix}", BedWars.getChatSupport().getSuffix(targetPlayer));
 
@@ -378,11 +416,16 @@ public class BwTabList {
                 }
             }
 
-            strings.add(parsed);
+            lines[i] = parsed;
         }
 
-        if (strings.size() == 1) {
-            final String line = strings.get(0);
+        return lines;
+    }
+
+    @NotNull
+    private SidebarLine toTabLine(@NotNull String[] lines) {
+        if (lines.length == 1) {
+            final String line = lines[0];
             return new SidebarLine() {
                 @NotNull
                 @Override
@@ -391,11 +434,6 @@ public class BwTabList {
                 }
             };
         }
-
-        final String[] lines = new String[strings.size()];
-        for (int i = 0; i < lines.length; i++) {
-            lines[i] = strings.get(i);
-        }
         return new SidebarLineAnimated(lines);
     }
 
@@ -505,4 +543,34 @@ public class BwTabList {
         teamOrderPrefix.clear();
         teamOrderIndex = 0;
     }
+
+    /**
+     * Last tab sent for a player.
+     */
+    private static class DeployedTab {
+        private final PlayerTab tab;
+        private final String state;
+        private final String identifier;
+        private final String[] prefix;
+        private final String[] suffix;
+        private final PlayerTab.PushingRule pushingRule;
+        private final boolean invisible;
+
+        private DeployedTab(PlayerTab tab, String state, String identifier, String[] prefix, String[] suffix,
+                            PlayerTab.PushingRule pushingRule, boolean invisible) {
+            this.tab = tab;
+            this.state = state;
+            this.identifier = identifier;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.pushingRule = pushingRule;
+            this.invisible = invisible;
+        }
+
+        private boolean matches(String state, String identifier, String[] prefix, String[] suffix,
+                                PlayerTab.PushingRule pushingRule, boolean invisible) {
+            return this.state.equals(state) && this.identifier.equals(identifier) && this.pushingRule == pushingRule && this.invisible == invisible
+                    && Arrays.equals(this.prefix, prefix) && Arrays.equals(this.suffix, suffix);
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.sidebar;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Sidebars of players in the same arena, with the same language and team.
+ * They see the same lines, so shared content is rendered once per tick and reused by every member.
+ */
+public class SidebarCohort {
+
+    private final String key;
+    private long lastUsed;
+
+    private long valuesTick = -1;
+    private final Map<String, String> values = new HashMap<>();
+
+    private long linesTick = -1;
+    private final Map<List<String>, List<RenderedLine>> lines = new HashMap<>();
+
+    protected SidebarCohort(String key, long tick) {
+        this.key = key;
+        this.lastUsed = tick;
+    }
+
+    /**
+     * Wrap a placeholder supplier so its value is computed once per tick for the whole cohort.
+     *
+     * @param placeholder placeholder name.
+     * @param supplier    replacement supplier. Must not depend on the player, only on arena, language and team.
+     */
+    public @NotNull Callable<String> shared(@NotNull String placeholder, @NotNull Callable<String> supplier) {
+        return () -> {
+            long tick = touch();
+            if (tick != valuesTick) {
+                values.clear();
+                valuesTick = tick;
+            }
+            String value = values.get(placeholder);
+            if (null == value) {
+                value = supplier.call();
+                if (null != value) {
+                    values.put(placeholder, value);
+                }
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Get sidebar lines rendered for this cohort in the current tick.
+     *
+     * @param source   lines from language file.
+     * @param renderer used if source lines were not rendered yet in this tick.
+     */
+    public @NotNull List<RenderedLine> getLines(@NotNull List<String> source, @NotNull Supplier<List<RenderedLine>> renderer) {
+        long tick = touch();
+        if (tick != linesTick) {
+            lines.clear();
+            linesTick = tick;
+        }
+        return lines.computeIfAbsent(source, s -> Collections.unmodifiableList(renderer.get()));
+    }
+
+    private long touch() {
+        lastUsed = SidebarService.getInstance().getCurrentTick();
+        return lastUsed;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * A line with cohort placeholders already replaced.
+     */
+    public static class RenderedLine {
+        private final String content;
+        private final String score;
+
+        public RenderedLine(@NotNull String content, @Nullable String score) {
+            this.content = content;
+            this.score = score;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public @Nullable String getScore() {
+            return score;
+        }
+    }
+}
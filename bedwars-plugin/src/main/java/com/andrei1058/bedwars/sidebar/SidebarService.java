@@ -11,6 +11,7 @@ import com.andrei1058.bedwars.api.language.Messages;
 import com.andrei1058.bedwars.api.server.ServerType;
 import com.andrei1058.bedwars.api.sidebar.ISidebar;
 import com.andrei1058.bedwars.api.sidebar.ISidebarService;
+import com.andrei1058.bedwars.arena.Arena;
 import com.andrei1058.bedwars.metrics.MetricsManager;
 import com.andrei1058.bedwars.sidebar.thread.*;
 import com.andrei1058.spigot.sidebar.SidebarManager;
@@ -21,6 +22,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import static com.andrei1058.bedwars.BedWars.config;
 import static com.andrei1058.bedwars.api.language.Language.getScoreboard;
@@ -32,12 +35,28 @@ public class SidebarService implements ISidebarService {
     private final SidebarManager sidebarHandler;
     private final HashMap<UUID, BwSidebar> sidebars = new HashMap<>();
 
+    // cohorts not used for this amount of ticks are forgotten
+    private static final int COHORT_EXPIRE_TICKS = 1200;
+    private final HashMap<String, SidebarCohort> cohorts = new HashMap<>();
+    private long currentTick = 0;
+
+    // health changes pushed by events, sent to viewers once per tick
+    private final LinkedHashMap<UUID, PendingHealth> pendingHealth = new LinkedHashMap<>();
+    private boolean healthReconcile = false;
+
+    // sidebars are spread in buckets so refresh tasks do not walk all of them in the same tick
+    private final int bucketCount;
+    private final List<CopyOnWriteArrayList<BwSidebar>> buckets = new ArrayList<>();
+    private final List<BucketRefreshTask> refreshTasks = new ArrayList<>();
+
     public static boolean init(JavaPlugin plugin) {
         if (null == instance) {
             instance = new SidebarService();
 
             var log = Bukkit.getLogger();
 
+            Bukkit.getScheduler().runTaskTimer(plugin, instance::tick, 1L, 1L);
+
             int playerListRefreshInterval = config.getInt(ConfigPath.SB_CONFIG_SIDEBAR_LIST_REFRESH);
             if (playerListRefreshInterval < 1) {
                 Bukkit.getLogger().info("Scoreboard names list refresh is disabled. (It is set to " + playerListRefreshInterval + ").");
@@ -60,7 +79,9 @@ public class SidebarService implements ISidebarService {
                     log.warning("It is not recommended to use a value under 20 ticks.");
                     log.warning("If you expect performance issues please increase its timer.");
                 }
-                Bukkit.getScheduler().runTaskTimer(plugin, new RefreshPlaceholdersTask(), 1L, placeholdersRefreshInterval);
+                RefreshPlaceholdersTask task = new RefreshPlaceholdersTask(placeholdersRefreshInterval);
+                instance.refreshTasks.add(task);
+                Bukkit.getScheduler().runTaskTimer(plugin, task, 1L, task.getPeriod());
             }
             MetricsManager.appendPie("sb_placeholder_refresh_interval", () -> String.valueOf(placeholdersRefreshInterval));
 
@@ -72,7 +93,9 @@ public class SidebarService implements ISidebarService {
                     log.warning("Scoreboard title refresh interval is set to: " + titleRefreshInterval);
                     log.warning("If you expect performance issues please increase its timer.");
                 }
-                Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, new RefreshTitleTask(), 1L, titleRefreshInterval);
+                RefreshTitleTask task = new RefreshTitleTask(titleRefreshInterval);
+                instance.refreshTasks.add(task);
+                Bukkit.getScheduler().runTaskTimer(plugin, task, 1L, task.getPeriod());
             }
             MetricsManager.appendPie("sb_title_refresh_interval", () -> String.valueOf(titleRefreshInterval));
 
@@ -85,7 +108,10 @@ public class SidebarService implements ISidebarService {
                     log.warning("It is not recommended to use a value under 20 ticks.");
                     log.warning("If you expect performance issues please increase its timer.");
                 }
-                Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new RefreshLifeTask(), 1L, healthAnimationInterval);
+                RefreshLifeTask task = new RefreshLifeTask(healthAnimationInterval);
+                instance.refreshTasks.add(task);
+                Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, task, 1L, task.getPeriod());
+                instance.healthReconcile = config.getBoolean(ConfigPath.SB_CONFIG_SIDEBAR_HEALTH_RECONCILE);
             }
             MetricsManager.appendPie("sb_health_refresh_interval", () -> String.valueOf(healthAnimationInterval));
 
@@ -115,6 +141,10 @@ public class SidebarService implements ISidebarService {
 
     private SidebarService() {
         sidebarHandler = SidebarManager.init();
+        bucketCount = Math.max(1, config.getInt(ConfigPath.SB_CONFIG_SIDEBAR_REFRESH_BUCKETS));
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new CopyOnWriteArrayList<>());
+        }
     }
 
     public void giveSidebar(@NotNull Player player, @Nullable IArena arena, boolean delay) {
@@ -228,6 +258,7 @@ public class SidebarService implements ISidebarService {
 
         if (newlyAdded) {
             sidebars.put(player.getUniqueId(), sidebar);
+            getBucket(sidebar).add(sidebar);
         }
     }
 
@@ -236,16 +267,84 @@ public class SidebarService implements ISidebarService {
      */
     public void remove(@NotNull BwSidebar sidebar) {
         this.sidebars.remove(sidebar.getPlayer().getUniqueId());
+        getBucket(sidebar).remove(sidebar);
         sidebar.remove();
     }
 
     public void remove(@NotNull Player player) {
         BwSidebar sidebar = this.sidebars.remove(player.getUniqueId());
         if (null != sidebar) {
+            getBucket(sidebar).remove(sidebar);
             sidebar.remove();
         }
     }
 
+    private void tick() {
+        currentTick++;
+        flushHealth();
+        if (currentTick % COHORT_EXPIRE_TICKS == 0) {
+            cohorts.values().removeIf(cohort -> currentTick - cohort.getLastUsed() > COHORT_EXPIRE_TICKS);
+        }
+    }
+
+    private @NotNull CopyOnWriteArrayList<BwSidebar> getBucket(@NotNull BwSidebar sidebar) {
+        return buckets.get(Math.floorMod(sidebar.getPlayer().getUniqueId().hashCode(), bucketCount));
+    }
+
+    /**
+     * Apply an action to sidebars in the given task bucket.
+     * A task may use less buckets than configured, in that case a task bucket covers multiple sidebar buckets.
+     *
+     * @param bucket      task bucket index.
+     * @param taskBuckets amount of task buckets.
+     * @return amount of sidebars.
+     */
+    public int forEachInBucket(int bucket, int taskBuckets, @NotNull Consumer<BwSidebar> action) {
+        int count = 0;
+        for (int i = bucket; i < bucketCount; i += taskBuckets) {
+            for (BwSidebar sidebar : buckets.get(i)) {
+                action.accept(sidebar);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Bucketed refresh tasks, used for stats.
+     */
+    public List<BucketRefreshTask> getRefreshTasks() {
+        return Collections.unmodifiableList(refreshTasks);
+    }
+
+    /**
+     * Ticks since sidebar service was initialized.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Get the render cohort for sidebars in the given arena, language and team.
+     *
+     * @param arena    null for lobby sidebars.
+     * @param language sidebar holder language.
+     * @param team     sidebar holder team or ex-team. Null for spectators.
+     */
+    public @NotNull SidebarCohort getCohort(@Nullable IArena arena, @NotNull Language language, @Nullable ITeam team) {
+        String key = (null == arena ? "" : arena.getWorldName()) + ":" + language.getIso() + ":" + (null == team ? "" : team.getName());
+        SidebarCohort cohort = cohorts.get(key);
+        if (null == cohort) {
+            cohort = new SidebarCohort(key, currentTick);
+            cohorts.put(key, cohort);
+        }
+        return cohort;
+    }
+
     public static SidebarService getInstance() {
         return instance;
     }
@@ -255,18 +354,19 @@ public class SidebarService implements ISidebarService {
     }
 
     public void refreshTitles() {
-        this.sidebars.forEach((k, v) -> v.getHandle().refreshTitle());
+        TitleAnimation.nextFrame();
+        this.sidebars.forEach((k, v) -> v.refreshTitle());
     }
 
     public void refreshPlaceholders() {
-        this.sidebars.forEach((k, v) -> v.getHandle().refreshPlaceholders());
+        this.sidebars.forEach((k, v) -> v.refreshPlaceholders());
     }
 
     public void refreshPlaceholders(IArena arena) {
         this.sidebars.forEach((k, v) -> {
             if (v.getArena() != null)
                 if (v.getArena().equals(arena)) {
-                    v.getHandle().refreshPlaceholders();
+                    v.refreshPlaceholders();
                 }
         });
     }
@@ -284,14 +384,27 @@ public class SidebarService implements ISidebarService {
     }
 
     public void refreshHealth() {
-        this.sidebars.forEach((k, v) -> {
-            if (null != v.getArena()) {
-                v.getHandle().playerHealthRefreshAnimation();
-                for (Player player : v.getArena().getPlayers()) {
-                    v.getHandle().setPlayerHealth(player, (int) Math.ceil(player.getHealth()));
+        this.sidebars.forEach((k, v) -> refreshHealthAnimation(v));
+        reconcileHealth();
+    }
+
+    public void refreshHealthAnimation(@NotNull BwSidebar sidebar) {
+        if (null != sidebar.getArena() && null != sidebar.getHandle()) {
+            sidebar.getHandle().playerHealthRefreshAnimation();
+        }
+    }
+
+    /**
+     * Health is pushed by damage and regain events, this only fixes changes we were not notified about.
+     */
+    public void reconcileHealth() {
+        if (healthReconcile) {
+            for (IArena arena : Arena.getArenas()) {
+                for (Player player : arena.getPlayers()) {
+                    refreshHealth(arena, player, (int) Math.ceil(player.getHealth()));
                 }
             }
-        });
+        }
     }
 
     @Override
@@ -299,10 +412,35 @@ public class SidebarService implements ISidebarService {
         return this.sidebars.getOrDefault(player.getUniqueId(), null);
     }
 
+    /**
+     * Queue a health display change. Changes are coalesced per player and sent to viewers on next tick.
+     */
     public void refreshHealth(IArena arena, Player player, int health) {
+        this.pendingHealth.put(player.getUniqueId(), new PendingHealth(arena, player, health));
+    }
+
+    private void flushHealth() {
+        if (pendingHealth.isEmpty()) {
+            return;
+        }
+        HashMap<IArena, List<PendingHealth>> changes = new HashMap<>();
+        for (PendingHealth change : pendingHealth.values()) {
+            changes.computeIfAbsent(change.arena, a -> new ArrayList<>()).add(change);
+        }
+        pendingHealth.clear();
+
         this.sidebars.forEach((k, v) -> {
-            if (null != v.getArena() && v.getArena().equals(arena)) {
-                v.getHandle().setPlayerHealth(player, health);
+            if (null == v.getArena() || null == v.getHandle()) {
+                return;
+            }
+            List<PendingHealth> arenaChanges = changes.get(v.getArena());
+            if (null == arenaChanges) {
+                return;
+            }
+            for (PendingHealth change : arenaChanges) {
+                if (change.player.isOnline()) {
+                    v.getHandle().setPlayerHealth(change.player, change.health);
+                }
             }
         });
     }
@@ -342,4 +480,16 @@ public class SidebarService implements ISidebarService {
             }
         });
     }
+
+    private static class PendingHealth {
+        private final IArena arena;
+        private final Player player;
+        private final int health;
+
+        private PendingHealth(IArena arena, Player player, int health) {
+            this.arena = arena;
+            this.player = player;
+            this.health = health;
+        }
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.sidebar;
+
+import com.andrei1058.bedwars.api.language.MessageTemplate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of compiled sidebar lines.
+ * Lines are compiled once and can be rendered in a single pass instead of chaining replacements.
+ */
+public final class SidebarTemplate {
+
+    // lines may contain player names after stats parsing, so the cache is not allowed to grow forever
+    private static final int CACHE_LIMIT = 4096;
+    private static final Map<String, MessageTemplate> compiled = new ConcurrentHashMap<>();
+
+    private SidebarTemplate() {
+    }
+
+    /**
+     * Get the compiled template of the given line.
+     */
+    public static @NotNull MessageTemplate compile(@NotNull String line) {
+        MessageTemplate template = compiled.get(line);
+        if (null == template) {
+            template = MessageTemplate.compile(line);
+            if (compiled.size() >= CACHE_LIMIT) {
+                compiled.clear();
+            }
+            compiled.put(line, template);
+        }
+        return template;
+    }
+
+    /**
+     * Forget compiled lines. Used when messages are reloaded.
+     */
+    public static void clearCache() {
+        compiled.clear();
+    }
+}
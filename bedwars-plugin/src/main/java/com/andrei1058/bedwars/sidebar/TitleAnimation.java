@@ -0,0 +1,87 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.sidebar;
+
+import com.andrei1058.spigot.sidebar.SidebarLine;
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sidebar title with pre-rendered animation frames.
+ * Every sidebar showing the same title shares one instance and the frame is picked from a global index,
+ * so advancing the animation does not require per sidebar work.
+ */
+public final class TitleAnimation extends SidebarLine {
+
+    private static final Map<List<String>, TitleAnimation> compiled = new ConcurrentHashMap<>();
+    private static volatile int frame = 0;
+
+    private final String[] frames;
+
+    private TitleAnimation(String[] frames) {
+        this.frames = frames;
+    }
+
+    /**
+     * Get the compiled animation for the given title frames.
+     * Frames are usually taken from a language file, so there is an animation per language and sidebar type.
+     */
+    public static @NotNull TitleAnimation compile(@NotNull List<String> titleFrames) {
+        TitleAnimation animation = compiled.get(titleFrames);
+        if (null == animation) {
+            String[] frames = new String[titleFrames.size()];
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = ChatColor.translateAlternateColorCodes('&', titleFrames.get(i));
+            }
+            animation = new TitleAnimation(frames);
+            compiled.put(List.copyOf(titleFrames), animation);
+        }
+        return animation;
+    }
+
+    /**
+     * Forget compiled titles. Used when messages are reloaded.
+     */
+    public static void clearCache() {
+        compiled.clear();
+    }
+
+    /**
+     * Move every title animation to the next frame.
+     */
+    public static void nextFrame() {
+        // keep it positive
+        frame = (frame + 1) & Integer.MAX_VALUE;
+    }
+
+    public boolean isAnimated() {
+        return frames.length > 1;
+    }
+
+    @Override
+    public @NotNull String getLine() {
+        return frames[frame % frames.length];
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.sidebar;
+
+import com.andrei1058.spigot.sidebar.PlaceholderProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Placeholder value cached between sidebar refreshes.
+ * The version is increased every time the value changes, so lines using it are only rendered again when needed.
+ */
+public class VersionedPlaceholder {
+
+    private final String placeholder;
+    private final Callable<String> supplier;
+    private final PlaceholderProvider provider;
+    private volatile String value = "";
+    private int version = 0;
+
+    public VersionedPlaceholder(@NotNull String placeholder, @NotNull Callable<String> supplier) {
+        this.placeholder = placeholder;
+        this.supplier = supplier;
+        this.provider = new PlaceholderProvider(placeholder, () -> value);
+        this.poll();
+    }
+
+    /**
+     * Compute the value again.
+     *
+     * @return true if the value has changed.
+     */
+    public boolean poll() {
+        String current;
+        try {
+            current = supplier.call();
+        } catch (Exception e) {
+            return false;
+        }
+        if (null == current) {
+            current = "";
+        }
+        if (current.equals(value)) {
+            return false;
+        }
+        value = current;
+        version++;
+        return true;
+    }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Provider handed to the sidebar lib, returning the last computed value.
+     */
+    public PlaceholderProvider getProvider() {
+        return provider;
+    }
+}
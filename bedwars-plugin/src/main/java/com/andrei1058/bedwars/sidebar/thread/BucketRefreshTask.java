@@ -0,0 +1,139 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.sidebar.thread;
+
+import com.andrei1058.bedwars.sidebar.BwSidebar;
+import com.andrei1058.bedwars.sidebar.SidebarService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Refresh task that walks one sidebar bucket per run instead of every sidebar at once.
+ * The task is scheduled every interval / buckets ticks, so each sidebar is still refreshed once per interval.
+ * The amount of buckets is a divisor of the interval, so the period is always a whole amount of ticks.
+ */
+public abstract class BucketRefreshTask implements Runnable {
+
+    private final String name;
+    private final int interval;
+    private final int buckets;
+    private int cursor = 0;
+
+    private final int[] lastSidebars;
+    private final long[] lastNanos;
+    private final long[] totalNanos;
+    private final long[] runs;
+
+    /**
+     * @param name     task name used in stats.
+     * @param interval ticks between two refreshes of the same sidebar.
+     */
+    protected BucketRefreshTask(String name, int interval) {
+        this.name = name;
+        this.interval = Math.max(1, interval);
+        this.buckets = bucketsFor(this.interval, SidebarService.getInstance().getBucketCount());
+        this.lastSidebars = new int[buckets];
+        this.lastNanos = new long[buckets];
+        this.totalNanos = new long[buckets];
+        this.runs = new long[buckets];
+    }
+
+    @Override
+    public void run() {
+        int bucket = cursor;
+        cursor = (cursor + 1) % buckets;
+        if (bucket == 0) {
+            onCycle();
+        }
+
+        long start = System.nanoTime();
+        int count = SidebarService.getInstance().forEachInBucket(bucket, buckets, this::refresh);
+        long took = System.nanoTime() - start;
+
+        lastSidebars[bucket] = count;
+        lastNanos[bucket] = took;
+        totalNanos[bucket] += took;
+        runs[bucket]++;
+    }
+
+    /**
+     * Largest amount of buckets, up to the wanted one, that splits the interval in equal periods.
+     * We cannot refresh more often than once per tick, so there are never more buckets than ticks.
+     */
+    private static int bucketsFor(int interval, int wanted) {
+        for (int buckets = Math.min(Math.max(1, wanted), interval); buckets > 1; buckets--) {
+            if (interval % buckets == 0) {
+                return buckets;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Refresh a single sidebar.
+     */
+    protected abstract void refresh(@NotNull BwSidebar sidebar);
+
+    /**
+     * Called once per interval, before the first bucket is refreshed.
+     */
+    protected void onCycle() {
+    }
+
+    /**
+     * Ticks between two runs of this task.
+     */
+    public int getPeriod() {
+        return interval / buckets;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Amount of sidebars refreshed by the last run of the given bucket.
+     */
+    public int getLastSidebars(int bucket) {
+        return lastSidebars[bucket];
+    }
+
+    /**
+     * Nano seconds spent by the last run of the given bucket.
+     */
+    public long getLastNanos(int bucket) {
+        return lastNanos[bucket];
+    }
+
+    /**
+     * Average nano seconds spent by the given bucket.
+     */
+    public long getAverageNanos(int bucket) {
+        return runs[bucket] == 0 ? 0 : totalNanos[bucket] / runs[bucket];
+    }
+}
@@ -20,11 +20,23 @@
 
 package com.andrei1058.bedwars.sidebar.thread;
 
+import com.andrei1058.bedwars.sidebar.BwSidebar;
 import com.andrei1058.bedwars.sidebar.SidebarService;
+import org.jetbrains.annotations.NotNull;
+
+public class RefreshLifeTask extends BucketRefreshTask {
+
+    public RefreshLifeTask(int interval) {
+        super("health", interval);
+    }
+
+    @Override
+    protected void refresh(@NotNull BwSidebar sidebar) {
+        SidebarService.getInstance().refreshHealthAnimation(sidebar);
+    }
 
-public class RefreshLifeTask implements Runnable {
     @Override
-    public void run() {
-        SidebarService.getInstance().refreshHealth();
+    protected void onCycle() {
+        SidebarService.getInstance().reconcileHealth();
     }
 }
@@ -20,11 +20,17 @@
 
 package com.andrei1058.bedwars.sidebar.thread;
 
-import com.andrei1058.bedwars.sidebar.SidebarService;
+import com.andrei1058.bedwars.sidebar.BwSidebar;
+import org.jetbrains.annotations.NotNull;
+
+public class RefreshPlaceholdersTask extends BucketRefreshTask {
+
+    public RefreshPlaceholdersTask(int interval) {
+        super("placeholders", interval);
+    }
 
-public class RefreshPlaceholdersTask implements Runnable {
     @Override
-    public void run() {
-        SidebarService.getInstance().refreshPlaceholders();
+    protected void refresh(@NotNull BwSidebar sidebar) {
+        sidebar.refreshPlaceholders();
     }
 }
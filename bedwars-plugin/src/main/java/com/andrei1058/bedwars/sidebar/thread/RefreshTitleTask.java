@@ -20,11 +20,23 @@
 
 package com.andrei1058.bedwars.sidebar.thread;
 
-import com.andrei1058.bedwars.sidebar.SidebarService;
+import com.andrei1058.bedwars.sidebar.BwSidebar;
+import com.andrei1058.bedwars.sidebar.TitleAnimation;
+import org.jetbrains.annotations.NotNull;
+
+public class RefreshTitleTask extends BucketRefreshTask {
+
+    public RefreshTitleTask(int interval) {
+        super("title", interval);
+    }
+
+    @Override
+    protected void refresh(@NotNull BwSidebar sidebar) {
+        sidebar.refreshTitle();
+    }
 
-public class RefreshTitleTask implements Runnable {
     @Override
-    public void run() {
-        SidebarService.getInstance().refreshTitles();
+    protected void onCycle() {
+        TitleAnimation.nextFrame();
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.stats;
+
+import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.database.LeaderboardEntry;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the top players of each statistic in memory.
+ * Lists are refreshed asynchronously, reads only look at the last snapshot and never query the database.
+ */
+public class LeaderboardService {
+
+    public enum Statistic {
+        WINS("wins", "wins"),
+        KILLS("kills", "kills"),
+        FINAL_KILLS("finalkills", "final_kills"),
+        BEDS_DESTROYED("bedsdestroyed", "beds_destroyed"),
+        LEVEL("level", "level");
+
+        private final String key;
+        private final String column;
+
+        Statistic(String key, String column) {
+            this.key = key;
+            this.column = column;
+        }
+
+        /**
+         * Name used in placeholders.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Column used for ordering.
+         */
+        public String getColumn() {
+            return column;
+        }
+
+        @Nullable
+        public static Statistic getByKey(String key) {
+            for (Statistic statistic : values()) {
+                if (statistic.key.equals(key)) {
+                    return statistic;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final int size;
+    private final long interval;
+    private BukkitTask task;
+    private volatile Map<Statistic, Snapshot> snapshots = new EnumMap<>(Statistic.class);
+
+    /**
+     * @param size     players kept per statistic.
+     * @param interval ticks between refreshes.
+     */
+    public LeaderboardService(int size, long interval) {
+        this.size = Math.max(1, size);
+        this.interval = Math.max(20, interval);
+    }
+
+    public void start() {
+        if (task != null) return;
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(BedWars.plugin, this::refresh, 20L, interval);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Query every statistic and replace the cached lists.
+     * Must not be called from the main thread.
+     */
+    public void refresh() {
+        Map<Statistic, Snapshot> updated = new EnumMap<>(Statistic.class);
+        for (Statistic statistic : Statistic.values()) {
+            List<LeaderboardEntry> entries = BedWars.getRemoteDatabase().fetchLeaderboard(statistic, size);
+            if (entries == null) {
+                // keep the previous list if the query failed
+                Snapshot previous = snapshots.get(statistic);
+                if (previous != null) {
+                    updated.put(statistic, previous);
+                }
+                continue;
+            }
+            updated.put(statistic, new Snapshot(entries));
+        }
+        snapshots = updated;
+    }
+
+    /**
+     * @param position starting from 1.
+     * @return null if there is no player at the given position.
+     */
+    @Nullable
+    public LeaderboardEntry getEntry(Statistic statistic, int position) {
+        Snapshot snapshot = snapshots.get(statistic);
+        if (snapshot == null || position < 1 || position > snapshot.entries.size()) return null;
+        return snapshot.entries.get(position - 1);
+    }
+
+    /**
+     * @return player position starting from 1 or -1 if the player is not in the cached list.
+     */
+    public int getPosition(Statistic statistic, UUID uuid) {
+        Snapshot snapshot = snapshots.get(statistic);
+        if (snapshot == null) return -1;
+        return snapshot.positions.getOrDefault(uuid, -1);
+    }
+
+    public List<LeaderboardEntry> getEntries(Statistic statistic) {
+        Snapshot snapshot = snapshots.get(statistic);
+        return snapshot == null ? Collections.emptyList() : snapshot.entries;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private static class Snapshot {
+        private final List<LeaderboardEntry> entries;
+        private final Map<UUID, Integer> positions = new HashMap<>();
+
+        private Snapshot(List<LeaderboardEntry> entries) {
+            this.entries = Collections.unmodifiableList(entries);
+            for (int i = 0; i < entries.size(); i++) {
+                positions.putIfAbsent(entries.get(i).getUuid(), i + 1);
+            }
+        }
+    }
+}
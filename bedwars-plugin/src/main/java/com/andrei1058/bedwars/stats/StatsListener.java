@@ -29,6 +29,8 @@ import com.andrei1058.bedwars.api.events.player.PlayerBedBreakEvent;
 import com.andrei1058.bedwars.api.events.player.PlayerKillEvent;
 import com.andrei1058.bedwars.api.events.player.PlayerLeaveArenaEvent;
 import com.andrei1058.bedwars.arena.Arena;
+import com.andrei1058.bedwars.database.PlayerProfile;
+import com.andrei1058.bedwars.listeners.joinhandler.ProfileLoader;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -50,9 +52,10 @@ public class StatsListener implements Listener {
             // Do nothing if login fails
             return;
         }
-        PlayerStats stats = BedWars.getRemoteDatabase().fetchStats(event.getUniqueId());
-        stats.setName(event.getName());
-        BedWars.getStatsManager().put(event.getUniqueId(), stats);
+        // loaded by the profile loader
+        PlayerProfile profile = ProfileLoader.getProfile(event.getUniqueId());
+        if (profile == null) return;
+        BedWars.getStatsManager().put(event.getUniqueId(), profile.getStats());
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -114,7 +117,10 @@ public class StatsListener implements Listener {
             if (playerArena != null && playerArena.equals(event.getArena())) {
                 stats.setGamesPlayed(stats.getGamesPlayed() + 1);
             }
+            BedWars.getStatsManager().save(stats);
         }
+        // write the whole game as one batch
+        BedWars.getStatsManager().getWriter().flushLater(10L);
     }
 
     @EventHandler
@@ -188,8 +194,8 @@ public class StatsListener implements Listener {
 //            }
 //        }
 
-        //save or replace stats for player - run later because PlayerKillEvent is triggered after PlayerLeaveArenaEvent
-        Bukkit.getScheduler().runTaskLaterAsynchronously(BedWars.plugin, () -> BedWars.getRemoteDatabase().saveStats(playerStats), 10L);
+        //save or replace stats for player - written later with other players, PlayerKillEvent is triggered after PlayerLeaveArenaEvent
+        BedWars.getStatsManager().save(playerStats);
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
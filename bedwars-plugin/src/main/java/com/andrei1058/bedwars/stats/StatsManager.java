@@ -21,6 +21,7 @@
 package com.andrei1058.bedwars.stats;
 
 import com.andrei1058.bedwars.BedWars;
+import com.andrei1058.bedwars.api.configuration.ConfigPath;
 import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,8 +33,10 @@ import java.util.concurrent.ConcurrentHashMap;
 public class StatsManager {
 
     private final Map<UUID, PlayerStats> stats = new ConcurrentHashMap<>();
+    private final StatsWriter writer;
 
     public StatsManager() {
+        writer = new StatsWriter(BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_STATS_FLUSH_INTERVAL) * 20L);
         registerListeners();
     }
 
@@ -59,6 +62,17 @@ public class StatsManager {
         return stats.get(uuid);
     }
 
+    /**
+     * Save stats with the next database batch.
+     */
+    public void save(PlayerStats playerStats) {
+        writer.queue(playerStats);
+    }
+
+    public StatsWriter getWriter() {
+        return writer;
+    }
+
     /**
      * Register listeners related to stats cache.
      */
@@ -0,0 +1,153 @@
+/*
+ * BedWars1058 - A bed wars mini-game.
+ * Copyright (C) 2021 Andrei Dascălu
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: andrew.dascalu@gmail.com
+ */
+
+package com.andrei1058.bedwars.stats;
+
+import com.andrei1058.bedwars.BedWars;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind queue for player stats.
+ * Changed stats are collected and written to the database as a single batch,
+ * so a game end results in one database round trip instead of one per player.
+ */
+public class StatsWriter {
+
+    // latest stats instance by player, the most recent values are written
+    private final Map<UUID, PlayerStats> dirty = new ConcurrentHashMap<>();
+    private final long interval;
+    private BukkitTask task;
+
+    private volatile int lastBatchSize;
+    private volatile long lastBatchNanos;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    /**
+     * @param interval ticks to wait for other changes before writing.
+     */
+    public StatsWriter(long interval) {
+        this.interval = Math.max(1, interval);
+    }
+
+    /**
+     * Mark stats to be saved with the next batch.
+     */
+    public void queue(PlayerStats stats) {
+        dirty.put(stats.getUuid(), stats);
+        schedule(interval);
+    }
+
+    /**
+     * Write queued stats after the given delay if they are not going to be written earlier.
+     * Used at game end.
+     */
+    public synchronized void flushLater(long delay) {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        schedule(delay);
+    }
+
+    /**
+     * Remove a player from the next batch.
+     * Used when the stats are written together with other player data.
+     */
+    public void remove(UUID player) {
+        dirty.remove(player);
+    }
+
+    private synchronized void schedule(long delay) {
+        if (task == null && !dirty.isEmpty()) {
+            task = Bukkit.getScheduler().runTaskLaterAsynchronously(BedWars.plugin, this::flush, delay);
+        }
+    }
+
+    /**
+     * Write queued stats on the current thread.
+     */
+    public void flush() {
+        synchronized (this) {
+            task = null;
+        }
+        List<PlayerStats> batch = new ArrayList<>();
+        for (UUID player : dirty.keySet()) {
+            PlayerStats stats = dirty.remove(player);
+            if (stats != null) {
+                batch.add(stats);
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        long start = System.nanoTime();
+        BedWars.getRemoteDatabase().saveStats(batch);
+        long took = System.nanoTime() - start;
+
+        lastBatchSize = batch.size();
+        lastBatchNanos = took;
+        batches.incrementAndGet();
+        written.addAndGet(batch.size());
+        totalNanos.addAndGet(took);
+        BedWars.debug("Saved stats of " + batch.size() + " players in " + TimeUnit.NANOSECONDS.toMillis(took) + "ms.");
+    }
+
+    /**
+     * Amount of players waiting to be saved.
+     */
+    public int getQueued() {
+        return dirty.size();
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public long getLastBatchNanos() {
+        return lastBatchNanos;
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Average players per batch.
+     */
+    public double getAverageBatchSize() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) written.get() / count;
+    }
+
+    public long getAverageBatchNanos() {
+        long count = batches.get();
+        return count == 0 ? 0 : totalNanos.get() / count;
+    }
+}
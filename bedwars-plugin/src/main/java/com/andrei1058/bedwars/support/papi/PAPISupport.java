@@ -28,6 +28,8 @@ import com.andrei1058.bedwars.api.language.Language;
 import com.andrei1058.bedwars.api.language.Messages;
 import com.andrei1058.bedwars.arena.Arena;
 import com.andrei1058.bedwars.commands.shout.ShoutCommand;
+import com.andrei1058.bedwars.database.LeaderboardEntry;
+import com.andrei1058.bedwars.stats.LeaderboardService;
 import com.andrei1058.bedwars.stats.PlayerStats;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.entity.Player;
@@ -107,6 +109,33 @@ public class PAPISupport extends PlaceholderExpansion {
             return "-";
         }
 
+        // top_<stat>_<position>_name, top_<stat>_<position>_value, top_<stat>_position
+        if (s.startsWith("top_")) {
+            String[] args = s.split("_");
+            LeaderboardService.Statistic statistic = args.length > 2 ? LeaderboardService.Statistic.getByKey(args[1]) : null;
+            if (statistic == null) return null;
+            if (args.length == 3 && args[2].equals("position")) {
+                if (player == null) return null;
+                int position = BedWars.getLeaderboardService().getPosition(statistic, player.getUniqueId());
+                return position == -1 ? "-" : String.valueOf(position);
+            }
+            if (args.length != 4) return null;
+            int position;
+            try {
+                position = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            LeaderboardEntry entry = BedWars.getLeaderboardService().getEntry(statistic, position);
+            if (args[3].equals("name")) {
+                return entry == null ? "-" : entry.getName();
+            }
+            if (args[3].equals("value")) {
+                return entry == null ? "0" : String.valueOf(entry.getValue());
+            }
+            return null;
+        }
+
         /* Player required placeholders */
         if (player == null) return null;
 
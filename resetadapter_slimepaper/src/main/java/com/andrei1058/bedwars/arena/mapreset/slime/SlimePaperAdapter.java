@@ -42,24 +42,31 @@ import com.infernalsuite.aswm.api.world.properties.SlimeProperties;
 import com.infernalsuite.aswm.api.world.properties.SlimePropertyMap;
 import org.apache.commons.io.FileUtils;
 import org.bukkit.*;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.world.WorldInitEvent;
 import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 @SuppressWarnings({"CallToPrintStackTrace", "unused"})
 public class SlimePaperAdapter extends RestoreAdapter {
 
+    private static final String TEMPLATE_PREFIX = "bw_template_";
+
     private final SlimePlugin slime;
     private final BedWars api;
+    // deserialized arena maps, game instances are cloned from here
+    private final Map<String, SlimeWorld> templates = new ConcurrentHashMap<>();
 
     public SlimePaperAdapter(Plugin plugin) {
         super(plugin);
@@ -88,20 +95,12 @@ public class SlimePaperAdapter extends RestoreAdapter {
             }
 
             SlimeLoader flat = slime.getLoader("file");
-            String[] spawn = a.getConfig().getString("waiting.Loc").split(",");
-
-            SlimePropertyMap spm = getCreateProperties(
-                    (int) Double.parseDouble(spawn[0]),
-                    (int) Double.parseDouble(spawn[1]),
-                    (int) Double.parseDouble(spawn[2])
-            );
+            SlimePropertyMap spm = getArenaProperties(a.getConfig().getString("waiting.Loc"));
 
             try {
                 // Note that this method should be called asynchronously
-                SlimeWorld world = slime.loadWorld(flat, a.getArenaName(), true, spm);
-                if (api.getServerType() == ServerType.BUNGEE && api.isAutoScale()) {
-                    world = world.clone(a.getWorldName());
-                }
+                // the template is never loaded itself, every instance is a copy of it
+                SlimeWorld world = getTemplate(flat, a.getArenaName(), spm).clone(a.getWorldName());
 
                 // This method must be called synchronously
                 SlimeWorld finalWorld = world;
@@ -237,6 +236,8 @@ public class SlimePaperAdapter extends RestoreAdapter {
 
     @Override
     public void onSetupSessionClose(ISetupSession s) {
+        // map was edited, next instance has to be read again
+        templates.remove(s.getWorldName());
         Objects.requireNonNull(Bukkit.getWorld(s.getWorldName())).save();
         Bukkit.getScheduler().runTask(getOwner(), () -> Bukkit.unloadWorld(s.getWorldName(), true));
     }
@@ -253,6 +254,7 @@ public class SlimePaperAdapter extends RestoreAdapter {
 
     @Override
     public void deleteWorld(String name) {
+        templates.remove(name);
         Bukkit.getScheduler().runTaskAsynchronously(getOwner(), () -> {
             try {
                 slime.getLoader("file").deleteWorld(name);
@@ -264,6 +266,7 @@ public class SlimePaperAdapter extends RestoreAdapter {
 
     @Override
     public void cloneArena(String name1, String name2) {
+        templates.remove(name2);
         Bukkit.getScheduler().runTaskAsynchronously(getOwner(), () -> {
             try {
                 // Note that this method should be called asynchronously
@@ -351,6 +354,47 @@ public class SlimePaperAdapter extends RestoreAdapter {
         });
     }
 
+    @Override
+    public void warmUp(Collection<String> arenas) {
+        Bukkit.getScheduler().runTaskAsynchronously(getOwner(), () -> {
+            long start = System.currentTimeMillis();
+            SlimeLoader loader = slime.getLoader("file");
+            int loaded = 0;
+            for (String arena : arenas) {
+                File config = new File(getOwner().getDataFolder(), "/Arenas/" + arena + ".yml");
+                try {
+                    if (!config.exists() || !loader.worldExists(arena)) {
+                        continue;
+                    }
+                    getTemplate(loader, arena, getArenaProperties(
+                            YamlConfiguration.loadConfiguration(config).getString("waiting.Loc")
+                    ));
+                    loaded++;
+                } catch (UnknownWorldException | IOException | CorruptedWorldException | NewerFormatException |
+                         WorldLockedException ex) {
+                    getOwner().getLogger().warning("Could not preload arena template: " + arena);
+                    ex.printStackTrace();
+                }
+            }
+            getOwner().getLogger().info("Preloaded " + loaded + " arena templates in " + (System.currentTimeMillis() - start) + "ms.");
+        });
+    }
+
+    /**
+     * Get the in memory copy of an arena map, reading it from the loader if it is not cached.
+     * Note that this method should be called asynchronously.
+     */
+    private synchronized @NotNull SlimeWorld getTemplate(SlimeLoader loader, String arenaName, SlimePropertyMap spm) throws
+            UnknownWorldException, IOException, CorruptedWorldException, NewerFormatException, WorldLockedException {
+        SlimeWorld template = templates.get(arenaName);
+        if (null == template) {
+            // kept under a different name so instances can be cloned with the arena name
+            template = slime.loadWorld(loader, arenaName, true, spm).clone(TEMPLATE_PREFIX + arenaName);
+            templates.put(arenaName, template);
+        }
+        return template;
+    }
+
     @Override
     public String getDisplayName() {
         return "Advanced Slime Paper by InfernalSuite";
@@ -489,6 +533,15 @@ public class SlimePaperAdapter extends RestoreAdapter {
         }
     }
 
+    private @NotNull SlimePropertyMap getArenaProperties(@Nullable String waitingLoc) {
+        String[] spawn = null == waitingLoc ? new String[]{"0", "118", "0"} : waitingLoc.split(",");
+        return getCreateProperties(
+                (int) Double.parseDouble(spawn[0]),
+                (int) Double.parseDouble(spawn[1]),
+                (int) Double.parseDouble(spawn[2])
+        );
+    }
+
     private @NotNull SlimePropertyMap getCreateProperties(int spawnX, int spawnY, int spawnZ) {
         SlimePropertyMap spm = new SlimePropertyMap();
         spm.setValue(SlimeProperties.WORLD_TYPE, "flat");
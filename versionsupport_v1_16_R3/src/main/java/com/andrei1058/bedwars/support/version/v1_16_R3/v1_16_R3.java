@@ -34,6 +34,7 @@ import com.mojang.datafixers.DataFixUtils;
 import com.mojang.datafixers.types.Type;
 import com.mojang.datafixers.util.Pair;
 import net.minecraft.server.v1_16_R3.*;
+import org.bukkit.Chunk;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -667,6 +668,16 @@ public class v1_16_R3 extends VersionSupport {
         }
     }
 
+    @Override
+    public void holdChunk(Chunk chunk) {
+        chunk.addPluginChunkTicket(getPlugin());
+    }
+
+    @Override
+    public void releaseChunk(Chunk chunk) {
+        chunk.removePluginChunkTicket(getPlugin());
+    }
+
     @Override
     public void spigotShowPlayer(Player victim, Player receiver) {
         receiver.showPlayer(getPlugin(), victim);
@@ -50,6 +50,7 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.*;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockBase;
+import org.bukkit.Chunk;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -670,6 +671,16 @@ public class v1_18_R2 extends VersionSupport {
         }
     }
 
+    @Override
+    public void holdChunk(Chunk chunk) {
+        chunk.addPluginChunkTicket(getPlugin());
+    }
+
+    @Override
+    public void releaseChunk(Chunk chunk) {
+        chunk.removePluginChunkTicket(getPlugin());
+    }
+
     @Override
     public void spigotShowPlayer(Player victim, Player receiver) {
         receiver.showPlayer(getPlugin(), victim);
@@ -640,6 +640,16 @@ public class v1_19_R2 extends VersionSupport {
         }
     }
 
+    @Override
+    public void holdChunk(Chunk chunk) {
+        chunk.addPluginChunkTicket(getPlugin());
+    }
+
+    @Override
+    public void releaseChunk(Chunk chunk) {
+        chunk.removePluginChunkTicket(getPlugin());
+    }
+
     @Override
     public void spigotShowPlayer(Player victim, @NotNull Player receiver) {
         receiver.showPlayer(getPlugin(), victim);